@@ -0,0 +1,301 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build stage for the static front end, run by Maven before packaging with the JDK
+ * single-file launcher:
+ *
+ * <pre>
+ * java src/build/java/StaticAssetPipeline.java &lt;source dir&gt; &lt;output dir&gt;
+ * </pre>
+ *
+ * Minifies the scripts and stylesheets, writes them under {@code assets/} with a
+ * content hash in the name plus a gzip sibling, and rewrites {@code index.html} to
+ * reference the hashed names. Minification only drops comments and redundant
+ * whitespace; line breaks in scripts are kept so automatic semicolon insertion is
+ * unaffected.
+ */
+public class StaticAssetPipeline {
+
+    private static final List<String> ASSETS = List.of("app.js", "styles.css");
+    private static final String ASSETS_DIR = "assets";
+    private static final int HASH_LENGTH = 12;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: StaticAssetPipeline <diretório de origem> <diretório de saída>");
+        }
+        Path source = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        Files.createDirectories(output.resolve(ASSETS_DIR));
+
+        Map<String, String> fingerprinted = new LinkedHashMap<>();
+        for (String asset : ASSETS) {
+            String content = Files.readString(source.resolve(asset), StandardCharsets.UTF_8);
+            byte[] minified = (asset.endsWith(".js") ? minifyJs(content) : minifyCss(content))
+                    .getBytes(StandardCharsets.UTF_8);
+            int extension = asset.lastIndexOf('.');
+            String name = asset.substring(0, extension) + "." + hash(minified) + asset.substring(extension);
+            write(output.resolve(ASSETS_DIR).resolve(name), minified);
+            fingerprinted.put(asset, "/" + ASSETS_DIR + "/" + name);
+            System.out.printf("[static] %s -> %s (%d -> %d bytes)%n", asset, name, content.length(),
+                    minified.length);
+        }
+
+        String index = Files.readString(source.resolve("index.html"), StandardCharsets.UTF_8);
+        for (Map.Entry<String, String> entry : fingerprinted.entrySet()) {
+            String rewritten = index.replace("\"" + entry.getKey() + "\"", "\"" + entry.getValue() + "\"");
+            if (rewritten.equals(index)) {
+                throw new IllegalStateException("index.html não referencia " + entry.getKey());
+            }
+            index = rewritten;
+        }
+        write(output.resolve("index.html"), index.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Writes the file and its gzip sibling
+    private static void write(Path file, byte[] content) throws IOException {
+        Files.write(file, content);
+        try (OutputStream gzip = new BestGzipOutputStream(Files.newOutputStream(Path.of(file + ".gz")))) {
+            gzip.write(content);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String minifyCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        int i = 0;
+        boolean pendingSpace = false;
+        while (i < css.length()) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < css.length() && css.charAt(i + 1) == '*') {
+                int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? css.length() : end + 2;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                int end = skipString(css, i);
+                appendPendingSpace(out, pendingSpace, c);
+                out.append(css, i, end);
+                pendingSpace = false;
+                i = end;
+                continue;
+            }
+            if (c == '}' && !out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            appendPendingSpace(out, pendingSpace, c);
+            out.append(c);
+            pendingSpace = false;
+            i++;
+        }
+        return out.toString();
+    }
+
+    // A space before ':' is kept because it separates a descendant pseudo-class selector
+    private static void appendPendingSpace(StringBuilder out, boolean pendingSpace, char next) {
+        if (!pendingSpace || out.isEmpty()) {
+            return;
+        }
+        char previous = out.charAt(out.length() - 1);
+        if ("{};,:>".indexOf(previous) < 0 && "{};,>".indexOf(next) < 0) {
+            out.append(' ');
+        }
+    }
+
+    static String minifyJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        int i = 0;
+        boolean pendingSpace = false;
+        boolean pendingNewline = false;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            char next = i + 1 < js.length() ? js.charAt(i + 1) : 0;
+            if (c == '/' && next == '/') {
+                while (i < js.length() && js.charAt(i) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = js.indexOf("*/", i + 2);
+                if (js.substring(i, end < 0 ? js.length() : end).indexOf('\n') >= 0) {
+                    pendingNewline = true;
+                }
+                pendingSpace = true;
+                i = end < 0 ? js.length() : end + 2;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingNewline |= c == '\n';
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+
+            if (pendingNewline && !out.isEmpty()) {
+                out.append('\n');
+            } else if (pendingSpace && !out.isEmpty() && needsSpace(out.charAt(out.length() - 1), c)) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            pendingNewline = false;
+
+            int end;
+            if (c == '"' || c == '\'') {
+                end = skipString(js, i);
+            } else if (c == '`') {
+                end = skipTemplate(js, i);
+            } else if (c == '/' && startsRegex(out)) {
+                end = skipRegex(js, i);
+            } else {
+                end = i + 1;
+            }
+            out.append(js, i, end);
+            i = end;
+        }
+        return out.toString();
+    }
+
+    private static boolean needsSpace(char previous, char next) {
+        return (isWordChar(previous) && isWordChar(next))
+                || (previous == next && (previous == '+' || previous == '-'));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c > 127;
+    }
+
+    private static final Set<String> KEYWORDS_BEFORE_EXPRESSION = Set.of(
+            "return", "typeof", "case", "do", "else", "in", "of", "new", "delete", "void", "throw", "yield", "await");
+
+    // A slash starts a regex literal where an expression is expected, otherwise it divides
+    private static boolean startsRegex(StringBuilder out) {
+        int end = out.length();
+        while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            return true;
+        }
+        char previous = out.charAt(end - 1);
+        if (isWordChar(previous)) {
+            int start = end;
+            while (start > 0 && isWordChar(out.charAt(start - 1))) {
+                start--;
+            }
+            return KEYWORDS_BEFORE_EXPRESSION.contains(out.substring(start, end));
+        }
+        // A postfix ++ or -- ends an operand; a prefix one can never be followed by a slash
+        if ((previous == '+' || previous == '-') && end > 1 && out.charAt(end - 2) == previous) {
+            return false;
+        }
+        return ")]\"'`".indexOf(previous) < 0;
+    }
+
+    private static int skipString(String text, int start) {
+        char quote = text.charAt(start);
+        int i = start + 1;
+        while (i < text.length() && text.charAt(i) != quote) {
+            i += text.charAt(i) == '\\' ? 2 : 1;
+        }
+        return Math.min(i + 1, text.length());
+    }
+
+    private static int skipRegex(String js, int start) {
+        int i = start + 1;
+        boolean inClass = false;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if (c == '/' && !inClass) {
+                break;
+            }
+            i++;
+        }
+        i++;
+        while (i < js.length() && isWordChar(js.charAt(i))) {
+            i++;
+        }
+        return Math.min(i, js.length());
+    }
+
+    // Template literals are copied verbatim, including the code inside ${...}
+    private static int skipTemplate(String js, int start) {
+        int i = start + 1;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '`') {
+                return i + 1;
+            } else if (c == '$' && i + 1 < js.length() && js.charAt(i + 1) == '{') {
+                i = skipExpression(js, i + 2);
+            } else {
+                i++;
+            }
+        }
+        return js.length();
+    }
+
+    private static int skipExpression(String js, int start) {
+        int depth = 1;
+        int i = start;
+        while (i < js.length()) {
+            char c = js.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipString(js, i);
+            } else if (c == '`') {
+                i = skipTemplate(js, i);
+            } else {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}' && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+        }
+        return js.length();
+    }
+
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mergingtonhigh.schoolmanagement.application.auth;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hash verification on a small dedicated pool with a bounded queue, so
+ * a burst of logins costs at most {@code auth.password.threads} cores and Argon2
+ * buffers instead of request threads. When the queue is full the login is shed with a
+ * {@link ServiceUnavailableException} carrying {@code auth.password.retry-after}.
+ * A matching hash created with weaker parameters than the encoder's current ones is
+ * re-hashed in the same task, so upgrades share the same bound.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationExecutor.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer queueWait;
+    private final Timer verification;
+    private final Timer rehash;
+    private final Counter rejected;
+
+    public PasswordVerificationExecutor(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${auth.password.threads:2}") int threads,
+            @Value("${auth.password.queue-capacity:32}") int queueCapacity,
+            @Value("${auth.password.retry-after:PT2S}") Duration retryAfter) {
+        if (threads < 1 || queueCapacity < 1 || retryAfter.isNegative()) {
+            throw new IllegalArgumentException("Configuração da verificação de senhas inválida");
+        }
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfter = retryAfter;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueWait = meterRegistry.timer("auth.password.queue.wait");
+        this.verification = meterRegistry.timer("auth.password.verify");
+        this.rehash = meterRegistry.timer("auth.password.rehash");
+        this.rejected = meterRegistry.counter("auth.password.rejected");
+        new ExecutorServiceMetrics(executor, "password-verifier", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Completes with whether the raw password matches the stored hash, plus a fresh hash
+     * when the stored one should be upgraded, or fails right away with
+     * {@link ServiceUnavailableException} when the verification queue is full.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String encodedPassword) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                boolean matches = verification.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+                if (!matches || !passwordEncoder.upgradeEncoding(encodedPassword)) {
+                    return new Verification(matches, null);
+                }
+                return new Verification(true, rehash.record(() -> passwordEncoder.encode(rawPassword)));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("Password verification queue full ({} queued), shedding login", executor.getQueue().size());
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(
+                    "Muitos logins simultâneos. Tente novamente em instantes.", retryAfter));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Outcome of a verification; {@code upgradedHash} is set only for a matching
+     * password whose stored hash used outdated parameters.
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.mergingtonhigh.schoolmanagement.application.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+
+/**
+ * Issues and verifies stateless session tokens. A token carries the teacher's
+ * username, display name, role and expiry, signed with HMAC-SHA256, so verifying it
+ * needs neither the database nor any server-side session state. Role changes take
+ * effect when the teacher's current token expires.
+ */
+@Component
+public class SessionTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public SessionTokenService(@Value("${auth.token.secret:}") String secret,
+            @Value("${auth.token.ttl:PT8H}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    SessionTokenService(String secret, Duration ttl, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Validade do token de sessão inválida");
+        }
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Signs a token for the teacher that expires after the configured TTL.
+     */
+    public IssuedToken issue(AuthenticatedTeacher teacher) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = String.join(".", VERSION, encode(teacher.username()),
+                encode(teacher.displayName() != null ? teacher.displayName() : ""), teacher.role().name(),
+                Long.toString(expiresAt.getEpochSecond()));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * Returns the teacher the token was issued to, or empty when the token is
+     * malformed, forged or expired.
+     */
+    public Optional<AuthenticatedTeacher> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        try {
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                logger.debug("Rejected session token with invalid signature");
+                return Optional.empty();
+            }
+            String[] fields = payload.split("\\.", -1);
+            if (fields.length != 5 || !VERSION.equals(fields[0])) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[4]));
+            if (!clock.instant().isBefore(expiresAt)) {
+                logger.debug("Rejected expired session token");
+                return Optional.empty();
+            }
+            String displayName = decode(fields[2]);
+            return Optional.of(new AuthenticatedTeacher(decode(fields[1]),
+                    displayName.isEmpty() ? null : displayName, Teacher.Role.valueOf(fields[3])));
+        } catch (IllegalArgumentException e) {
+            // Bad base64, number or role: the signature matched a payload this version cannot read
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            logger.warn("auth.token.secret is not set; using a random key, so sessions end on restart "
+                    + "and are not accepted by other instances");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException(
+                    "auth.token.secret deve ter pelo menos " + MIN_SECRET_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.mergingtonhigh.schoolmanagement.application.catalog;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.mappers.ActivityMapper;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.events.ActivityChangedEvent;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+
+/**
+ * Keeps the activity catalog in memory as an immutable, versioned snapshot. Readers
+ * never touch Mongo while the snapshot is fresh; every write through the activity
+ * repository swaps in a new snapshot built from the document that write returned, and
+ * the whole catalog is reloaded once it is older than the configured maximum staleness
+ * so writes made by other instances are picked up. A reload that finds nothing changed
+ * keeps the version, so ETags issued before it stay valid.
+ */
+@Component
+public class ActivityCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityCatalog.class);
+
+    private final ActivityRepository activityRepository;
+    private final ActivityMapper activityMapper;
+    private final Duration maxStaleness;
+    private final Clock clock;
+    // Keeps version tags from different instances or restarts from ever matching
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+    // Serializes full reloads and is held across their Mongo read, so a lock rather than a
+    // monitor that would pin virtual threads
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Guards swapping the snapshot and is never held across Mongo, so writes only wait on memory
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Stored version of each activity in the snapshot, guarded by writeLock
+    private final Map<String, Long> storedVersions = new HashMap<>();
+    // Writes applied while a reload reads from Mongo, null outside a reload; guarded by writeLock
+    private Map<String, Activity> writtenDuringReload;
+    private volatile CatalogSnapshot snapshot;
+
+    @Autowired
+    public ActivityCatalog(ActivityRepository activityRepository, ActivityMapper activityMapper,
+            @Value("${activity.catalog.max-staleness:PT5M}") Duration maxStaleness) {
+        this(activityRepository, activityMapper, maxStaleness, Clock.systemUTC());
+    }
+
+    ActivityCatalog(ActivityRepository activityRepository, ActivityMapper activityMapper,
+            Duration maxStaleness, Clock clock) {
+        if (maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Desatualização máxima do catálogo não pode ser negativa");
+        }
+        this.activityRepository = activityRepository;
+        this.activityMapper = activityMapper;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot, reloading it first if it was never loaded or has
+     * exceeded the maximum staleness.
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            // Another reader may have reloaded while this one waited for the lock
+            current = snapshot;
+            if (current != null && !isStale(current)) {
+                return current;
+            }
+            return reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Opaque tag of the current snapshot that changes whenever its content may have
+     * changed; suitable as a strong ETag.
+     */
+    public String currentVersionTag() {
+        return instanceId + "-" + current().version();
+    }
+
+    /**
+     * Reloads the whole catalog from the repository regardless of its age.
+     */
+    public CatalogSnapshot refresh() {
+        reloadLock.lock();
+        try {
+            return reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Runs before other listeners so they observe the updated snapshot
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onActivityChanged(ActivityChangedEvent event) {
+        Activity activity = event.activity();
+        ActivityDTO dto = activityMapper.toDTO(activity);
+        ActivitySummaryDTO summary = activityMapper.toSummaryDTO(activity);
+        writeLock.lock();
+        try {
+            if (writtenDuringReload != null && isNewer(activity, writtenDuringReload.get(event.activityName()))) {
+                writtenDuringReload.put(event.activityName(), activity);
+            }
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            if (activity == null) {
+                storedVersions.remove(event.activityName());
+                snapshot = current.withoutActivity(event.activityName());
+                return;
+            }
+            // Writes to one activity can publish out of order; an older one must not undo a newer one
+            Long stored = storedVersions.get(event.activityName());
+            if (stored != null && versionOf(activity) < stored) {
+                return;
+            }
+            storedVersions.put(event.activityName(), versionOf(activity));
+            snapshot = current.withActivity(dto, summary, activity.getScheduleDetails());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Called with reloadLock held; the Mongo read runs without writeLock so writes never wait on it
+    private CatalogSnapshot reload() {
+        writeLock.lock();
+        try {
+            writtenDuringReload = new HashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        List<Activity> loaded;
+        try {
+            loaded = activityRepository.findAll();
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                writtenDuringReload = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            Map<String, Activity> byName = new LinkedHashMap<>();
+            loaded.forEach(activity -> byName.put(activity.getName(), activity));
+            // A write that landed during the read may be newer than what the read returned
+            writtenDuringReload.forEach((name, written) -> {
+                if (written == null) {
+                    byName.remove(name);
+                } else if (isNewer(written, byName.get(name))) {
+                    byName.put(name, written);
+                }
+            });
+            writtenDuringReload = null;
+            return install(byName.values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private CatalogSnapshot install(Collection<Activity> loaded) {
+        Map<String, ActivityDTO> activities = new HashMap<>();
+        Map<String, ActivitySummaryDTO> summaries = new HashMap<>();
+        Map<String, ScheduleDetails> schedules = new HashMap<>();
+        storedVersions.clear();
+        for (Activity activity : loaded) {
+            activities.put(activity.getName(), activityMapper.toDTO(activity));
+            summaries.put(activity.getName(), activityMapper.toSummaryDTO(activity));
+            if (activity.getScheduleDetails() != null) {
+                schedules.put(activity.getName(), activity.getScheduleDetails());
+            }
+            storedVersions.put(activity.getName(), versionOf(activity));
+        }
+
+        CatalogSnapshot current = snapshot;
+        boolean unchanged = current != null && current.activities().equals(activities)
+                && current.summaries().equals(summaries);
+        long version = current == null ? 1 : unchanged ? current.version() : current.version() + 1;
+        CatalogSnapshot reloaded = CatalogSnapshot.of(version, clock.instant(), activities, summaries, schedules);
+        snapshot = reloaded;
+        logger.debug("Reloaded activity catalog: {} activities, version {}", activities.size(), version);
+        return reloaded;
+    }
+
+    // A delete (null) always wins; otherwise the higher stored version is the later write
+    private static boolean isNewer(Activity candidate, Activity known) {
+        return candidate == null || known == null || versionOf(candidate) >= versionOf(known);
+    }
+
+    private static long versionOf(Activity activity) {
+        return activity.getVersion() != null ? activity.getVersion() : -1;
+    }
+
+    private boolean isStale(CatalogSnapshot current) {
+        return Duration.between(current.refreshedAt(), clock.instant()).compareTo(maxStaleness) > 0;
+    }
+}
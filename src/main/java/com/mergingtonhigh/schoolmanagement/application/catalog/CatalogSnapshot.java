@@ -0,0 +1,64 @@
+package com.mergingtonhigh.schoolmanagement.application.catalog;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.scheduling.ScheduleIntervalTree;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+
+/**
+ * Immutable view of the whole activity catalog, both as full DTOs and as roster-free
+ * summaries, with the activities' time slots indexed per day. Changes produce a new
+ * snapshot with the next version; {@code refreshedAt} is when the catalog was last
+ * fully reloaded.
+ */
+public record CatalogSnapshot(
+        long version,
+        Instant refreshedAt,
+        Map<String, ActivityDTO> activities,
+        Map<String, ActivitySummaryDTO> summaries,
+        ScheduleIntervalTree scheduleIndex,
+        List<String> days) {
+
+    public CatalogSnapshot {
+        activities = Collections.unmodifiableMap(new TreeMap<>(activities));
+        summaries = Collections.unmodifiableMap(new TreeMap<>(summaries));
+        days = List.copyOf(days);
+    }
+
+    static CatalogSnapshot of(long version, Instant refreshedAt, Map<String, ActivityDTO> activities,
+            Map<String, ActivitySummaryDTO> summaries, Map<String, ScheduleDetails> schedules) {
+        return of(version, refreshedAt, activities, summaries, ScheduleIntervalTree.of(schedules));
+    }
+
+    private static CatalogSnapshot of(long version, Instant refreshedAt, Map<String, ActivityDTO> activities,
+            Map<String, ActivitySummaryDTO> summaries, ScheduleIntervalTree scheduleIndex) {
+        return new CatalogSnapshot(version, refreshedAt, activities, summaries, scheduleIndex, scheduleIndex.days());
+    }
+
+    CatalogSnapshot withActivity(ActivityDTO activity, ActivitySummaryDTO summary, ScheduleDetails schedule) {
+        Map<String, ActivityDTO> updatedActivities = new TreeMap<>(activities);
+        updatedActivities.put(activity.name(), activity);
+        Map<String, ActivitySummaryDTO> updatedSummaries = new TreeMap<>(summaries);
+        updatedSummaries.put(summary.name(), summary);
+        return of(version + 1, refreshedAt, updatedActivities, updatedSummaries,
+                scheduleIndex.with(activity.name(), schedule));
+    }
+
+    CatalogSnapshot withoutActivity(String activityName) {
+        if (!activities.containsKey(activityName)) {
+            return this;
+        }
+        Map<String, ActivityDTO> updatedActivities = new TreeMap<>(activities);
+        updatedActivities.remove(activityName);
+        Map<String, ActivitySummaryDTO> updatedSummaries = new TreeMap<>(summaries);
+        updatedSummaries.remove(activityName);
+        return of(version + 1, refreshedAt, updatedActivities, updatedSummaries,
+                scheduleIndex.with(activityName, null));
+    }
+}
@@ -0,0 +1,262 @@
+package com.mergingtonhigh.schoolmanagement.application.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serializes writes per activity inside this JVM. Each activity gets a lane that is
+ * drained by one thread at a time, so a burst on a hot activity queues up instead of
+ * contending on the same Mongo document, while other activities keep their own lanes.
+ * Consecutive queued signups are handed to the handler together so they can be
+ * persisted in a single update. Drain threads are virtual when
+ * {@code spring.threads.virtual.enabled} is set, since they spend most of their time
+ * waiting on Mongo.
+ *
+ * <p>Queue metrics are not tagged by activity: the name comes from the request path
+ * before anything checks that the activity exists.
+ */
+@Component
+public class ActivityWriteSerializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityWriteSerializer.class);
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final int maxBatchSize;
+    private final ExecutorService drainExecutor;
+    private final DistributionSummary queueDepth;
+    private final DistributionSummary batchSize;
+    private final Timer queueWait;
+
+    public ActivityWriteSerializer(
+            @Value("${activity.write.serializer.max-batch-size:50}") int maxBatchSize,
+            @Value("${activity.write.serializer.max-drain-threads:16}") int maxDrainThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1 || maxDrainThreads < 1) {
+            throw new IllegalArgumentException("Configuração do serializador de escrita inválida");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.queueDepth = DistributionSummary.builder("activity.write.queue.depth")
+                .description("Writes queued on an activity lane, sampled on submit")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("activity.write.coalesced.batch.size")
+                .description("Signups persisted together in one batch")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("activity.write.queue.wait")
+                .description("Time a write spent queued on its activity lane")
+                .register(meterRegistry);
+        ThreadFactory threads = virtualThreads
+                ? Thread.ofVirtual().name("activity-writer-", 1).factory()
+                : Thread.ofPlatform().name("activity-writer-", 1).daemon(true).factory();
+        // The pool still caps concurrent drains, which bounds the writes in flight against Mongo;
+        // when every drain thread is busy the submitting thread drains its own lane
+        this.drainExecutor = new ThreadPoolExecutor(0, maxDrainThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threads, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Runs the mutation exclusively on the activity's lane and returns its result.
+     */
+    public <T> T execute(String activityName, Supplier<T> mutation) {
+        return submit(activityName, new ExclusiveWrite<>(mutation));
+    }
+
+    /**
+     * Queues a signup on the activity's lane. Signups that are queued back to back are
+     * passed to the handler as one batch.
+     */
+    public RegistrationOutcome submitSignup(String activityName, AuthenticatedTeacher teacher, Email email,
+            SignupBatchHandler handler) {
+        return submit(activityName, new PendingSignup(teacher, email, handler));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdown();
+    }
+
+    private <T> T submit(String activityName, QueuedWrite<T> write) {
+        Lane lane = lanes.compute(activityName, (name, existing) -> {
+            Lane acquired = existing != null ? existing : new Lane(name);
+            acquired.references++;
+            return acquired;
+        });
+        try {
+            write.enqueuedAt = System.nanoTime();
+            lane.queue.add(write);
+            queueDepth.record(lane.queue.size());
+            drainExecutor.execute(lane::drain);
+            return write.await();
+        } finally {
+            // Lanes only live while they have writes in flight, so unknown names cannot pile up here
+            lanes.computeIfPresent(activityName, (name, existing) -> --existing.references == 0 ? null : existing);
+        }
+    }
+
+    /**
+     * Applies a batch of queued signups for one activity. Every signup must be completed
+     * or failed; signups left pending when the handler returns or throws are failed for it.
+     */
+    @FunctionalInterface
+    public interface SignupBatchHandler {
+        void apply(String activityName, List<PendingSignup> batch);
+    }
+
+    private abstract static class QueuedWrite<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt;
+
+        T await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class ExclusiveWrite<T> extends QueuedWrite<T> {
+
+        private final Supplier<T> mutation;
+
+        ExclusiveWrite(Supplier<T> mutation) {
+            this.mutation = mutation;
+        }
+    }
+
+    public static final class PendingSignup extends QueuedWrite<RegistrationOutcome> {
+
+        private final AuthenticatedTeacher teacher;
+        private final Email email;
+        private final SignupBatchHandler handler;
+
+        PendingSignup(AuthenticatedTeacher teacher, Email email, SignupBatchHandler handler) {
+            this.teacher = teacher;
+            this.email = email;
+            this.handler = handler;
+        }
+
+        public AuthenticatedTeacher teacher() {
+            return teacher;
+        }
+
+        public Email email() {
+            return email;
+        }
+
+        public void complete(RegistrationOutcome outcome) {
+            result.complete(outcome);
+        }
+
+        public void fail(RuntimeException failure) {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    private final class Lane {
+
+        private final String activityName;
+        private final Queue<QueuedWrite<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Guarded by the lanes map: only mutated inside compute/computeIfPresent
+        private int references;
+
+        Lane(String activityName) {
+            this.activityName = activityName;
+        }
+
+        void drain() {
+            // Whoever flips the flag drains; a write enqueued after the last poll is picked
+            // up by the re-check below or by the drain its own submitter scheduled
+            while (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    QueuedWrite<?> next;
+                    while ((next = queue.poll()) != null) {
+                        process(next);
+                    }
+                } finally {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void process(QueuedWrite<?> next) {
+            if (next instanceof PendingSignup signup) {
+                processSignups(signup);
+            } else {
+                processExclusive((ExclusiveWrite<?>) next);
+            }
+        }
+
+        private <T> void processExclusive(ExclusiveWrite<T> write) {
+            recordWait(write);
+            try {
+                write.result.complete(write.mutation.get());
+            } catch (RuntimeException e) {
+                write.result.completeExceptionally(e);
+            }
+        }
+
+        private void processSignups(PendingSignup first) {
+            List<PendingSignup> batch = new ArrayList<>();
+            batch.add(first);
+            while (batch.size() < maxBatchSize
+                    && queue.peek() instanceof PendingSignup queued
+                    && queued.handler == first.handler) {
+                batch.add((PendingSignup) queue.poll());
+            }
+            batch.forEach(this::recordWait);
+            batchSize.record(batch.size());
+
+            RuntimeException failure = null;
+            try {
+                first.handler.apply(activityName, batch);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            for (PendingSignup signup : batch) {
+                if (!signup.result.isDone()) {
+                    if (failure == null) {
+                        logger.error("Signup batch handler left {} pending on activity {}", signup.email, activityName);
+                    }
+                    signup.fail(failure != null ? failure
+                            : new IllegalStateException("Inscrição não foi processada"));
+                }
+            }
+        }
+
+        private void recordWait(QueuedWrite<?> write) {
+            queueWait.record(System.nanoTime() - write.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
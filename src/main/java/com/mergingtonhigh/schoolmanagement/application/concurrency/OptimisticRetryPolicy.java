@@ -0,0 +1,82 @@
+package com.mergingtonhigh.schoolmanagement.application.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ConflictException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Re-runs an activity write when it loses an optimistic concurrency race. The
+ * operation must re-read the activity so the domain rules are re-applied to the
+ * current state on every attempt. Conflict counters are not tagged by activity, since
+ * the name comes from the request; the log lines name it.
+ */
+@Component
+public class OptimisticRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter retriesExhausted;
+
+    public OptimisticRetryPolicy(
+            @Value("${activity.write.retry.max-attempts:5}") int maxAttempts,
+            @Value("${activity.write.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+            @Value("${activity.write.retry.max-backoff-ms:200}") long maxBackoffMillis,
+            MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Número máximo de tentativas deve ser maior que 0");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = Math.max(0, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+        this.conflicts = meterRegistry.counter("activity.write.conflicts");
+        this.retries = meterRegistry.counter("activity.write.retries");
+        this.retriesExhausted = meterRegistry.counter("activity.write.retries.exhausted");
+    }
+
+    public <T> T execute(String activityName, Supplier<T> operation) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return operation.get();
+            } catch (ConflictException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    retriesExhausted.increment();
+                    logger.warn("Giving up on activity {} after {} conflicting attempts", activityName, attempt);
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("Conflict on activity {} (attempt {}/{}), retrying", activityName, attempt, maxAttempts);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void backOff(int attempt, ConflictException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        // Full jitter keeps a burst of writers on the same activity from retrying in lockstep
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mergingtonhigh.schoolmanagement.application.dtos;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
@@ -10,8 +11,9 @@ public record ActivityDTO(
                 String schedule,
                 ScheduleDetailsDTO scheduleDetails,
                 int maxParticipants,
-                List<String> participants,
+                Collection<String> participants,
                 int currentParticipantCount,
+                int waitlistCount,
                 ActivityCategory category,
                 boolean canTeachersRegisterStudents) {
         public record ScheduleDetailsDTO(
@@ -0,0 +1,11 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+import java.util.List;
+
+/**
+ * A page of activities in the requested order; {@code nextCursor} is null on the last page.
+ */
+public record ActivityPageDTO(
+        List<ActivityDTO> activities,
+        String nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+
+public record ActivitySummaryDTO(
+        String name,
+        String description,
+        ActivityDTO.ScheduleDetailsDTO scheduleDetails,
+        int maxParticipants,
+        int currentParticipantCount,
+        int remainingSpots,
+        ActivityCategory category) {
+}
@@ -0,0 +1,7 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+import java.util.List;
+
+public record BatchSignupRequestDTO(
+    List<String> emails
+) {}
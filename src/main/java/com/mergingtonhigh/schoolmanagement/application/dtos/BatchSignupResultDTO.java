@@ -0,0 +1,21 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+import java.util.List;
+
+public record BatchSignupResultDTO(
+                String activityName,
+                int addedCount,
+                List<EmailResultDTO> results) {
+        public record EmailResultDTO(
+                        String email,
+                        Status status) {
+        }
+
+        public enum Status {
+                ADDED,
+                DUPLICATE,
+                NO_CAPACITY,
+                INVALID,
+                SCHEDULE_CONFLICT
+        }
+}
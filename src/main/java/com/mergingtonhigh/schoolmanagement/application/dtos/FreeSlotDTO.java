@@ -0,0 +1,7 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+public record FreeSlotDTO(
+        String day,
+        String startTime,
+        String endTime) {
+}
@@ -0,0 +1,17 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+/**
+ * Outcome of a single signup or unregistration. {@code promotedEmail} is the waitlisted
+ * student moved into the spot an unregistration freed, if any.
+ */
+public record RegistrationResultDTO(
+        String message,
+        Status status,
+        String promotedEmail) {
+
+    public enum Status {
+        ADDED,
+        WAITLISTED,
+        REMOVED
+    }
+}
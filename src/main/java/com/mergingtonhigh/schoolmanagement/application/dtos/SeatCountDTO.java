@@ -0,0 +1,7 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+public record SeatCountDTO(
+        String name,
+        int currentParticipantCount,
+        int remainingSpots) {
+}
@@ -0,0 +1,11 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+import java.time.Instant;
+
+public record SessionDTO(
+    String username,
+    String displayName,
+    String role,
+    String token,
+    Instant expiresAt
+) {}
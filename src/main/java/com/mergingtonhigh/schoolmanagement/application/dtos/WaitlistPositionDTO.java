@@ -0,0 +1,8 @@
+package com.mergingtonhigh.schoolmanagement.application.dtos;
+
+public record WaitlistPositionDTO(
+    String activityName,
+    String email,
+    int position,
+    int waitlistSize
+) {}
@@ -0,0 +1,171 @@
+package com.mergingtonhigh.schoolmanagement.application.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.domain.entities.IdempotencyRecord;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.IdempotencyRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs a mutation at most once per idempotency key and replays its stored response
+ * afterwards. Recent keys are answered from a bounded in-memory cache, older ones from
+ * the TTL-indexed {@code idempotency_keys} collection, so a retry never reaches the
+ * activities collection. Only successful responses are stored; a request that failed
+ * is executed again when retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, IdempotencyRecord> recentRecords;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(IdempotencyRepository idempotencyRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.cache.max-entries:10000}") int maxCachedEntries) {
+        this(idempotencyRepository, objectMapper, meterRegistry, ttl, maxCachedEntries, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyRepository idempotencyRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, Duration ttl, int maxCachedEntries, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero() || maxCachedEntries < 0) {
+            throw new IllegalArgumentException("Configuração de idempotência inválida");
+        }
+        this.idempotencyRepository = idempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.recentRecords = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxCachedEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the response stored for the key, or runs the mutation and stores its
+     * response. The fingerprint identifies the request; reusing a key for a different
+     * request is rejected.
+     */
+    public <T> T execute(String key, String fingerprint, JavaType responseType, Supplier<T> mutation) {
+        if (key == null || key.trim().isEmpty() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key inválida");
+        }
+
+        IdempotencyRecord cached = cachedRecord(key);
+        if (cached != null) {
+            return replay(cached, fingerprint, responseType, "cache");
+        }
+
+        CompletableFuture<IdempotencyRecord> claim = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, claim);
+        if (running != null) {
+            // Same key already executing in this JVM: answer with its outcome
+            return replay(await(running), fingerprint, responseType, "in-flight");
+        }
+
+        try {
+            IdempotencyRecord stored = idempotencyRepository.findByKey(key)
+                    .filter(record -> !record.isExpired(clock.instant()))
+                    .orElse(null);
+            if (stored != null) {
+                cache(stored);
+                claim.complete(stored);
+                return replay(stored, fingerprint, responseType, "store");
+            }
+
+            T response = mutation.get();
+            IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, serialize(response),
+                    clock.instant().plus(ttl));
+            if (!idempotencyRepository.saveIfAbsent(record)) {
+                logger.warn("Idempotency key {} was stored concurrently by another instance", key);
+            }
+            cache(record);
+            claim.complete(record);
+            return response;
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, claim);
+        }
+    }
+
+    private IdempotencyRecord cachedRecord(String key) {
+        synchronized (recentRecords) {
+            IdempotencyRecord record = recentRecords.get(key);
+            if (record != null && record.isExpired(clock.instant())) {
+                recentRecords.remove(key);
+                return null;
+            }
+            return record;
+        }
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (recentRecords) {
+            recentRecords.put(record.getKey(), record);
+        }
+    }
+
+    private <T> T replay(IdempotencyRecord record, String fingerprint, JavaType responseType,
+            String source) {
+        if (!record.matches(fingerprint)) {
+            throw new ValidationException("Idempotency-Key já utilizada para outra requisição");
+        }
+        meterRegistry.counter("idempotency.replays", "source", source).increment();
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta armazenada para Idempotency-Key ilegível", e);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível armazenar a resposta idempotente", e);
+        }
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.mergingtonhigh.schoolmanagement.application.mappers;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
 
 @Component
 public class ActivityMapper {
@@ -13,23 +18,57 @@ public class ActivityMapper {
             return null;
         }
 
-        ActivityDTO.ScheduleDetailsDTO scheduleDetailsDTO = null;
-        if (activity.getScheduleDetails() != null) {
-            scheduleDetailsDTO = new ActivityDTO.ScheduleDetailsDTO(
-                    activity.getScheduleDetails().days(),
-                    activity.getScheduleDetails().startTime().toString(),
-                    activity.getScheduleDetails().endTime().toString());
-        }
-
         return new ActivityDTO(
                 activity.getName(),
                 activity.getDescription(),
                 null,
-                scheduleDetailsDTO,
+                toScheduleDetailsDTO(activity.getScheduleDetails()),
                 activity.getMaxParticipants(),
-                activity.getParticipants(),
+                // Copied so a DTO kept in the catalog never changes with the entity it came from
+                List.copyOf(activity.getParticipants()),
                 activity.getCurrentParticipantCount(),
+                activity.getWaitlistCount(),
                 activity.getCategory(),
                 activity.canTeachersRegisterStudents());
     }
+
+    public ActivitySummaryDTO toSummaryDTO(Activity activity) {
+        if (activity == null) {
+            return null;
+        }
+
+        return toSummaryDTO(new ActivitySummary(
+                activity.getName(),
+                activity.getDescription(),
+                activity.getCategory(),
+                activity.getScheduleDetails(),
+                activity.getMaxParticipants(),
+                activity.getCurrentParticipantCount()));
+    }
+
+    public ActivitySummaryDTO toSummaryDTO(ActivitySummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        return new ActivitySummaryDTO(
+                summary.name(),
+                summary.description(),
+                toScheduleDetailsDTO(summary.scheduleDetails()),
+                summary.maxParticipants(),
+                summary.currentParticipantCount(),
+                summary.remainingSpots(),
+                summary.category());
+    }
+
+    private ActivityDTO.ScheduleDetailsDTO toScheduleDetailsDTO(ScheduleDetails scheduleDetails) {
+        if (scheduleDetails == null) {
+            return null;
+        }
+
+        return new ActivityDTO.ScheduleDetailsDTO(
+                scheduleDetails.days(),
+                scheduleDetails.startTime().toString(),
+                scheduleDetails.endTime().toString());
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.mergingtonhigh.schoolmanagement.application.mappers;
 
 import com.mergingtonhigh.schoolmanagement.application.dtos.TeacherDTO;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -18,4 +19,16 @@ public class TeacherMapper {
             teacher.getRole().name().toLowerCase()
         );
     }
+
+    public TeacherDTO toDTO(AuthenticatedTeacher teacher) {
+        if (teacher == null) {
+            return null;
+        }
+
+        return new TeacherDTO(
+            teacher.username(),
+            teacher.displayName(),
+            teacher.role().name().toLowerCase()
+        );
+    }
 }
\ No newline at end of file
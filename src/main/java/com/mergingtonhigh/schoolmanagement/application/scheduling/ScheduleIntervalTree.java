@@ -0,0 +1,306 @@
+package com.mergingtonhigh.schoolmanagement.application.scheduling;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.TimeRangeMatch;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.TimeSlot;
+
+/**
+ * Immutable per-weekday interval trees over activity time slots. Each day keeps its
+ * slots sorted by start time in an implicit balanced tree annotated with the earliest
+ * and latest end time of every subtree, so contained and overlapping queries only
+ * descend into subtrees that hold a match, and "starts within" is a binary search
+ * followed by the matches themselves. A change rebuilds only the trees of the days the
+ * activity was or is scheduled on.
+ */
+public final class ScheduleIntervalTree {
+
+    private static final Comparator<Slot> SLOT_ORDER = Comparator.comparing(Slot::startTime)
+            .thenComparing(Slot::endTime)
+            .thenComparing(Slot::activityName);
+
+    private final Map<String, ScheduleDetails> schedules;
+    private final Map<String, DayTree> days;
+
+    private ScheduleIntervalTree(Map<String, ScheduleDetails> schedules, Map<String, DayTree> days) {
+        this.schedules = schedules;
+        this.days = days;
+    }
+
+    public static ScheduleIntervalTree of(Map<String, ScheduleDetails> schedules) {
+        Map<String, List<Slot>> slotsByDay = new HashMap<>();
+        schedules.forEach((activityName, schedule) -> schedule.days().stream().distinct()
+                .forEach(day -> slotsByDay.computeIfAbsent(day, key -> new ArrayList<>())
+                        .add(Slot.of(activityName, schedule))));
+        Map<String, DayTree> trees = new TreeMap<>();
+        slotsByDay.forEach((day, slots) -> trees.put(day, new DayTree(slots)));
+        return new ScheduleIntervalTree(new HashMap<>(schedules), trees);
+    }
+
+    /**
+     * Returns a tree with the activity's slots replaced by the given schedule, or
+     * removed when it is {@code null}.
+     */
+    public ScheduleIntervalTree with(String activityName, ScheduleDetails schedule) {
+        ScheduleDetails previous = schedules.get(activityName);
+        if (Objects.equals(previous, schedule)) {
+            return this;
+        }
+        Map<String, ScheduleDetails> updatedSchedules = new HashMap<>(schedules);
+        Set<String> affectedDays = new HashSet<>();
+        if (previous != null) {
+            affectedDays.addAll(previous.days());
+        }
+        if (schedule != null) {
+            updatedSchedules.put(activityName, schedule);
+            affectedDays.addAll(schedule.days());
+        } else {
+            updatedSchedules.remove(activityName);
+        }
+
+        Map<String, DayTree> updatedDays = new TreeMap<>(days);
+        for (String day : affectedDays) {
+            List<Slot> slots = new ArrayList<>();
+            DayTree current = days.get(day);
+            if (current != null) {
+                current.collectAllExcept(activityName, slots);
+            }
+            if (schedule != null && schedule.days().contains(day)) {
+                slots.add(Slot.of(activityName, schedule));
+            }
+            if (slots.isEmpty()) {
+                updatedDays.remove(day);
+            } else {
+                updatedDays.put(day, new DayTree(slots));
+            }
+        }
+        return new ScheduleIntervalTree(updatedSchedules, updatedDays);
+    }
+
+    /**
+     * Days with at least one scheduled activity, in alphabetical order.
+     */
+    public List<String> days() {
+        return List.copyOf(days.keySet());
+    }
+
+    /**
+     * Names of the activities scheduled on the day, or on any day when it is
+     * {@code null}.
+     */
+    public Set<String> scheduledOn(String day) {
+        if (day == null) {
+            return Set.copyOf(schedules.keySet());
+        }
+        List<Slot> slots = new ArrayList<>();
+        DayTree tree = days.get(day);
+        if (tree != null) {
+            tree.collectAllExcept(null, slots);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        slots.forEach(slot -> names.add(slot.activityName()));
+        return names;
+    }
+
+    /**
+     * Names of the activities whose slot matches the range on the day, or on any day
+     * when it is {@code null}, in start-time order per day.
+     */
+    public Set<String> find(TimeRangeMatch match, String day, LocalTime start, LocalTime end) {
+        Set<String> names = new LinkedHashSet<>();
+        if (start.isAfter(end)) {
+            return names;
+        }
+        Collection<DayTree> trees = day == null ? days.values()
+                : days.containsKey(day) ? List.of(days.get(day)) : List.of();
+        for (DayTree tree : trees) {
+            List<Slot> matches = new ArrayList<>();
+            if (match == TimeRangeMatch.OVERLAPS) {
+                tree.collectOverlapping(0, tree.size(), start, end, matches);
+            } else if (match == TimeRangeMatch.STARTS_WITHIN) {
+                tree.collectStartingWithin(start, end, matches);
+            } else {
+                tree.collectContained(0, tree.size(), tree.lowerBound(start), tree.upperBound(end), end, matches);
+            }
+            matches.forEach(slot -> names.add(slot.activityName()));
+        }
+        return names;
+    }
+
+    /**
+     * Gaps between {@code from} and {@code to} on the day not covered by any activity,
+     * in order.
+     */
+    public List<TimeSlot> freeSlots(String day, LocalTime from, LocalTime to) {
+        List<TimeSlot> free = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return free;
+        }
+        List<Slot> busy = new ArrayList<>();
+        DayTree tree = days.get(day);
+        if (tree != null) {
+            tree.collectOverlapping(0, tree.size(), from, to, busy);
+        }
+        LocalTime cursor = from;
+        for (Slot slot : busy) {
+            if (slot.startTime().isAfter(cursor)) {
+                free.add(new TimeSlot(cursor, slot.startTime()));
+            }
+            if (slot.endTime().isAfter(cursor)) {
+                cursor = slot.endTime();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlot(cursor, to));
+        }
+        return free;
+    }
+
+    private record Slot(String activityName, LocalTime startTime, LocalTime endTime) {
+
+        static Slot of(String activityName, ScheduleDetails schedule) {
+            return new Slot(activityName, schedule.startTime(), schedule.endTime());
+        }
+    }
+
+    /**
+     * Slots of one day sorted by start time; the node of the range [lo, hi) is its
+     * midpoint, and minEnd/maxEnd at that index cover the whole range.
+     */
+    private static final class DayTree {
+
+        private final Slot[] slots;
+        private final LocalTime[] minEnd;
+        private final LocalTime[] maxEnd;
+
+        DayTree(List<Slot> unsorted) {
+            slots = unsorted.toArray(new Slot[0]);
+            Arrays.sort(slots, SLOT_ORDER);
+            minEnd = new LocalTime[slots.length];
+            maxEnd = new LocalTime[slots.length];
+            annotate(0, slots.length);
+        }
+
+        int size() {
+            return slots.length;
+        }
+
+        private void annotate(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            annotate(lo, mid);
+            annotate(mid + 1, hi);
+            minEnd[mid] = slots[mid].endTime();
+            maxEnd[mid] = slots[mid].endTime();
+            if (lo < mid) {
+                include(mid, (lo + mid) >>> 1);
+            }
+            if (mid + 1 < hi) {
+                include(mid, (mid + 1 + hi) >>> 1);
+            }
+        }
+
+        private void include(int node, int child) {
+            if (minEnd[child].isBefore(minEnd[node])) {
+                minEnd[node] = minEnd[child];
+            }
+            if (maxEnd[child].isAfter(maxEnd[node])) {
+                maxEnd[node] = maxEnd[child];
+            }
+        }
+
+        // start < slot end and slot start < end, so back-to-back slots do not overlap
+        void collectOverlapping(int lo, int hi, LocalTime start, LocalTime end, List<Slot> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (!maxEnd[mid].isAfter(start)) {
+                return;
+            }
+            collectOverlapping(lo, mid, start, end, out);
+            if (!slots[mid].startTime().isBefore(end)) {
+                return;
+            }
+            if (slots[mid].endTime().isAfter(start)) {
+                out.add(slots[mid]);
+            }
+            collectOverlapping(mid + 1, hi, start, end, out);
+        }
+
+        // Slots in [from, to) already start within the range; keep those ending by end
+        void collectContained(int lo, int hi, int from, int to, LocalTime end, List<Slot> out) {
+            if (lo >= hi || hi <= from || lo >= to) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (minEnd[mid].isAfter(end)) {
+                return;
+            }
+            collectContained(lo, mid, from, to, end, out);
+            if (mid >= from && mid < to && !slots[mid].endTime().isAfter(end)) {
+                out.add(slots[mid]);
+            }
+            collectContained(mid + 1, hi, from, to, end, out);
+        }
+
+        void collectStartingWithin(LocalTime start, LocalTime end, List<Slot> out) {
+            for (int i = lowerBound(start), to = upperBound(end); i < to; i++) {
+                out.add(slots[i]);
+            }
+        }
+
+        void collectAllExcept(String activityName, List<Slot> out) {
+            for (Slot slot : slots) {
+                if (!slot.activityName().equals(activityName)) {
+                    out.add(slot);
+                }
+            }
+        }
+
+        // First index whose slot starts at or after the time
+        int lowerBound(LocalTime time) {
+            int lo = 0;
+            int hi = slots.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (slots[mid].startTime().isBefore(time)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First index whose slot starts after the time
+        int upperBound(LocalTime time) {
+            int lo = 0;
+            int hi = slots.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (slots[mid].startTime().isAfter(time)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.mergingtonhigh.schoolmanagement.application.scheduling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.TimeRangeMatch;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+
+/**
+ * Per-student index of enrolled time slots, one interval tree per weekday, so a signup
+ * can be checked for schedule overlaps without loading the student's activities. A
+ * student's slots are loaded once through the participant index and then kept current
+ * by the registration writes; a load that raced with a write for a student not yet
+ * indexed is not cached. The least recently used students are dropped beyond the
+ * configured bound.
+ */
+@Component
+public class StudentScheduleIndex {
+
+    private final ActivityRepository activityRepository;
+    private final Map<String, StudentSchedule> schedules;
+    // Guarded by schedules; bumped by every write for a student not indexed, so loads that overlapped it are not cached
+    private long generation;
+
+    public StudentScheduleIndex(ActivityRepository activityRepository,
+            @Value("${registration.schedule-index.max-students:10000}") int maxStudents) {
+        if (maxStudents < 1) {
+            throw new IllegalArgumentException("Tamanho máximo do índice de horários deve ser maior que 0");
+        }
+        this.activityRepository = activityRepository;
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StudentSchedule> eldest) {
+                return size() > maxStudents;
+            }
+        };
+    }
+
+    /**
+     * Returns the name of an activity the student is enrolled in whose slot overlaps the
+     * given schedule on any shared day. Back-to-back slots do not overlap.
+     */
+    public Optional<String> findConflict(Email student, String activityName, ScheduleDetails schedule) {
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        return scheduleOf(student).findConflict(activityName, schedule);
+    }
+
+    /**
+     * Adds the activity's slots to the student's schedule if it is already indexed.
+     */
+    public void recordEnrollment(Email student, String activityName, ScheduleDetails schedule) {
+        StudentSchedule indexed = indexedOrSkip(student);
+        if (indexed != null && schedule != null) {
+            indexed.add(activityName, schedule);
+        }
+    }
+
+    /**
+     * Removes the activity's slots from the student's schedule if it is already indexed.
+     */
+    public void recordRemoval(Email student, String activityName) {
+        StudentSchedule indexed = indexedOrSkip(student);
+        if (indexed != null) {
+            indexed.remove(activityName);
+        }
+    }
+
+    private StudentSchedule indexedOrSkip(Email student) {
+        synchronized (schedules) {
+            StudentSchedule indexed = schedules.get(student.value());
+            if (indexed == null) {
+                generation++;
+            }
+            return indexed;
+        }
+    }
+
+    private StudentSchedule scheduleOf(Email student) {
+        long observedGeneration;
+        synchronized (schedules) {
+            StudentSchedule indexed = schedules.get(student.value());
+            if (indexed != null) {
+                return indexed;
+            }
+            observedGeneration = generation;
+        }
+
+        StudentSchedule loaded = new StudentSchedule();
+        for (ActivitySummary activity : activityRepository.findByParticipant(student)) {
+            if (activity.scheduleDetails() != null) {
+                loaded.add(activity.name(), activity.scheduleDetails());
+            }
+        }
+        synchronized (schedules) {
+            StudentSchedule raced = schedules.get(student.value());
+            if (raced != null) {
+                return raced;
+            }
+            if (generation == observedGeneration) {
+                schedules.put(student.value(), loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * One student's enrollments in an interval tree per weekday. The tree tracks the
+     * latest end time of every subtree, so a slot that started long before the candidate
+     * is still found when the student's own slots overlap each other, which batch
+     * signups, waitlist promotions, disabled conflict rejection and seeded data allow.
+     */
+    private static final class StudentSchedule {
+
+        private ScheduleIntervalTree slots = ScheduleIntervalTree.of(Map.of());
+
+        synchronized Optional<String> findConflict(String activityName, ScheduleDetails schedule) {
+            for (String day : schedule.days()) {
+                for (String enrolled : slots.find(TimeRangeMatch.OVERLAPS, day, schedule.startTime(),
+                        schedule.endTime())) {
+                    if (!enrolled.equals(activityName)) {
+                        return Optional.of(enrolled);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized void add(String activityName, ScheduleDetails schedule) {
+            slots = slots.with(activityName, schedule);
+        }
+
+        synchronized void remove(String activityName) {
+            slots = slots.with(activityName, null);
+        }
+    }
+}
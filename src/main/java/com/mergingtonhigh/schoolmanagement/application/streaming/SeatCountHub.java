@@ -0,0 +1,279 @@
+package com.mergingtonhigh.schoolmanagement.application.streaming;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.application.catalog.ActivityCatalog;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.SeatCountDTO;
+import com.mergingtonhigh.schoolmanagement.domain.events.ActivityChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans seat count changes out to live subscribers. Every subscriber gets its own
+ * bounded buffer drained by a small shared sender pool, so publishing never blocks a
+ * write; a subscriber whose buffer is full is dropped and expected to reconnect and
+ * reload, rather than being buffered without limit.
+ *
+ * <p>A send still blocked after {@code activity.stream.send-timeout}, typically a client
+ * that stopped reading, is interrupted and its subscriber dropped, so slow clients cannot
+ * keep the sender pool away from the others for long. {@code onDrop} is deferred until
+ * a send in flight returns, because completing the response waits for that send.
+ */
+@Component
+public class SeatCountHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatCountHub.class);
+
+    private final ActivityCatalog activityCatalog;
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, SeatCountDTO> lastPublished = new ConcurrentHashMap<>();
+    private final Counter droppedSubscribers;
+    // Not a monitor: the catalog read below may reload from Mongo, which would pin a virtual thread
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    public SeatCountHub(ActivityCatalog activityCatalog,
+            @Value("${activity.stream.buffer-size:64}") int bufferSize,
+            @Value("${activity.stream.sender-threads:2}") int senderThreads,
+            @Value("${activity.stream.send-timeout:PT5S}") Duration sendTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry) {
+        if (bufferSize < 1 || senderThreads < 1 || sendTimeout.isNegative() || sendTimeout.isZero()) {
+            throw new IllegalArgumentException("Configuração do stream de vagas inválida");
+        }
+        this.activityCatalog = activityCatalog;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        ThreadFactory threads = virtualThreads
+                ? Thread.ofVirtual().name("seat-count-sender-", 1).factory()
+                : Thread.ofPlatform().name("seat-count-sender-", 1).daemon(true).factory();
+        this.senders = Executors.newFixedThreadPool(senderThreads, threads);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("seat-count-watchdog").daemon(true).factory());
+        // Checking twice per timeout bounds how long a stuck send can hold a sender to 1.5x the timeout
+        long period = Math.max(1, sendTimeoutNanos / 2);
+        watchdog.scheduleAtFixedRate(this::expireStuckSends, period, period, TimeUnit.NANOSECONDS);
+        this.droppedSubscribers = meterRegistry.counter("activity.stream.dropped");
+        meterRegistry.gauge("activity.stream.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Registers a subscriber. {@code onDrop} runs once if the hub gives up on it, because
+     * its buffer overflowed, a send failed or a send took longer than the timeout.
+     */
+    public Subscription subscribe(Sink sink, Runnable onDrop) {
+        Subscriber subscriber = new Subscriber(sink, onDrop);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    // Runs after the catalog has applied the change, so the snapshot already holds the new counts
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onActivityChanged(ActivityChangedEvent event) {
+        publishLock.lock();
+        try {
+            ActivitySummaryDTO summary = activityCatalog.current().summaries().get(event.activityName());
+            if (summary == null) {
+                lastPublished.remove(event.activityName());
+                return;
+            }
+            SeatCountDTO seatCount = new SeatCountDTO(summary.name(), summary.currentParticipantCount(),
+                    summary.remainingSpots());
+            // Waitlist and roster-only changes leave the counts as they were
+            if (seatCount.equals(lastPublished.put(summary.name(), seatCount))) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(seatCount);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void expireStuckSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.expireSend(now);
+        }
+    }
+
+    /**
+     * Delivers one seat count change to a subscriber.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void send(SeatCountDTO seatCount) throws IOException;
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final class Subscriber implements Subscription {
+
+        private final Sink sink;
+        private final Runnable onDrop;
+        private final BlockingQueue<SeatCountDTO> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean dropNotified = new AtomicBoolean();
+        private volatile boolean dropped;
+        // Guards sendingThread so the watchdog can only interrupt the send it timed
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private Thread sendingThread;
+        private long sendStartedAt;
+
+        Subscriber(Sink sink, Runnable onDrop) {
+            this.sink = sink;
+            this.onDrop = onDrop;
+        }
+
+        void offer(SeatCountDTO seatCount) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(seatCount)) {
+                drop("buffer cheio");
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                drop("hub encerrado");
+            }
+        }
+
+        private void drain() {
+            try {
+                SeatCountDTO next;
+                while (!closed.get() && (next = buffer.poll()) != null) {
+                    send(next);
+                }
+            } catch (IOException | RuntimeException e) {
+                drop(e.getMessage());
+            } finally {
+                draining.set(false);
+            }
+            if (dropped) {
+                notifyDrop();
+            }
+            // An offer may have landed after the last poll but before draining was cleared
+            if (!closed.get() && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SeatCountDTO seatCount) throws IOException {
+            sendLock.lock();
+            try {
+                sendingThread = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            } finally {
+                sendLock.unlock();
+            }
+            try {
+                sink.send(seatCount);
+            } finally {
+                sendLock.lock();
+                try {
+                    sendingThread = null;
+                    // An interrupt from the watchdog is meant for this send only, not the next task
+                    Thread.interrupted();
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+        }
+
+        void expireSend(long now) {
+            sendLock.lock();
+            try {
+                if (sendingThread == null || now - sendStartedAt < sendTimeoutNanos) {
+                    return;
+                }
+                // Closed before the interrupt, so the drain stops once the send returns
+                drop("envio excedeu o tempo limite");
+                sendingThread.interrupt();
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        private void drop(String reason) {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+                droppedSubscribers.increment();
+                logger.debug("Dropped seat count subscriber: {}", reason);
+                dropped = true;
+                // A drain in progress runs onDrop when it ends; draining and dropped are
+                // written before being read on both sides, so at least one side sees the other
+                if (!draining.get()) {
+                    notifyDrop();
+                }
+            }
+        }
+
+        private void notifyDrop() {
+            if (dropNotified.compareAndSet(false, true)) {
+                onDrop.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -1,66 +1,238 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import com.mergingtonhigh.schoolmanagement.application.catalog.ActivityCatalog;
+import com.mergingtonhigh.schoolmanagement.application.catalog.CatalogSnapshot;
 import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityPageDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.FreeSlotDTO;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+import com.mergingtonhigh.schoolmanagement.domain.enums.TimeRangeMatch;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageCursor;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageQuery;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
 import com.mergingtonhigh.schoolmanagement.application.mappers.ActivityMapper;
 
 @Service
 public class ActivityUseCase {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "\n";
+
     private final ActivityRepository activityRepository;
     private final ActivityMapper activityMapper;
+    private final ActivityCatalog activityCatalog;
 
-    public ActivityUseCase(ActivityRepository activityRepository, ActivityMapper activityMapper) {
+    public ActivityUseCase(ActivityRepository activityRepository, ActivityMapper activityMapper,
+            ActivityCatalog activityCatalog) {
         this.activityRepository = activityRepository;
         this.activityMapper = activityMapper;
+        this.activityCatalog = activityCatalog;
+    }
+
+    /**
+     * Filters the in-memory catalog snapshot; no database round trip while it is fresh.
+     * Time ranges are answered by the snapshot's per-day interval trees, matching
+     * activities contained in, overlapping or starting within the range.
+     */
+    public Map<String, ActivityDTO> getActivities(String day, String startTime, String endTime, String category,
+            String match) {
+        return streamActivities(day, startTime, endTime, category, match)
+                .collect(Collectors.toMap(ActivityDTO::name, dto -> dto, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Same result as {@link #getActivities} as a lazy stream over one snapshot, for
+     * responses written entry by entry. Filters are validated before it is returned.
+     */
+    public Stream<ActivityDTO> streamActivities(String day, String startTime, String endTime, String category,
+            String match) {
+        CatalogSnapshot snapshot = activityCatalog.current();
+        return matchingNames(snapshot, day, startTime, endTime, category, parseMatch(match))
+                .map(snapshot.activities()::get);
     }
 
     public Map<String, ActivityDTO> getActivities(String day, String startTime, String endTime, String category) {
-        List<Activity> activities;
+        return getActivities(day, startTime, endTime, category, null);
+    }
 
-        if (day != null && startTime != null && endTime != null) {
-            LocalTime start = LocalTime.parse(startTime);
-            LocalTime end = LocalTime.parse(endTime);
-            activities = activityRepository.findByDayAndTimeRange(day, start, end);
-        } else if (day != null) {
-            activities = activityRepository.findByDay(day);
-        } else if (startTime != null && endTime != null) {
-            LocalTime start = LocalTime.parse(startTime);
-            LocalTime end = LocalTime.parse(endTime);
-            activities = activityRepository.findByTimeRange(start, end);
-        } else {
-            activities = activityRepository.findAll();
-        }
+    /**
+     * Same filters as {@link #getActivities}, returning counts and remaining spots
+     * instead of participant rosters.
+     */
+    public Map<String, ActivitySummaryDTO> getActivitySummaries(String day, String startTime, String endTime,
+            String category, String match) {
+        return streamActivitySummaries(day, startTime, endTime, category, match)
+                .collect(Collectors.toMap(ActivitySummaryDTO::name, dto -> dto, (a, b) -> a, LinkedHashMap::new));
+    }
 
-        Map<String, ActivityDTO> activityMap = activities.stream()
-                .map(activityMapper::toDTO)
-                .collect(Collectors.toMap(ActivityDTO::name, dto -> dto));
+    public Stream<ActivitySummaryDTO> streamActivitySummaries(String day, String startTime, String endTime,
+            String category, String match) {
+        CatalogSnapshot snapshot = activityCatalog.current();
+        return matchingNames(snapshot, day, startTime, endTime, category, parseMatch(match))
+                .map(snapshot.summaries()::get);
+    }
 
-        if (category != null && !category.trim().isEmpty()) {
-            return activityMap.entrySet().stream()
-                    .filter(entry -> category.equals(entry.getValue().category().name()))
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    public Map<String, ActivitySummaryDTO> getActivitySummaries(String day, String startTime, String endTime,
+            String category) {
+        return getActivitySummaries(day, startTime, endTime, category, null);
+    }
+
+    /**
+     * Gaps between the start and end time on the day that no activity occupies.
+     */
+    public List<FreeSlotDTO> getFreeSlots(String day, String startTime, String endTime) {
+        if (day == null || day.trim().isEmpty()) {
+            throw new ValidationException("Dia é obrigatório para consultar horários livres");
+        }
+        LocalTime start = LocalTime.parse(startTime);
+        LocalTime end = LocalTime.parse(endTime);
+        if (start.isAfter(end)) {
+            throw new ValidationException("Horário de início não pode ser posterior ao horário de fim");
+        }
+        return activityCatalog.current().scheduleIndex().freeSlots(day, start, end).stream()
+                .map(slot -> new FreeSlotDTO(day, slot.startTime().toString(), slot.endTime().toString()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads one page straight from Mongo with keyset pagination: the opaque cursor holds
+     * the last activity's sort value and name, so each page costs a single indexed
+     * range read no matter how deep the client has paged.
+     */
+    public ActivityPageDTO getActivityPage(String day, String startTime, String endTime, String category,
+            String sort, String cursor, Integer limit) {
+        ActivitySortKey sortKey = parseSortKey(sort);
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
         }
+        ActivityPageCursor after = cursor != null ? decodeCursor(cursor, sortKey) : null;
+        LocalTime start = startTime != null && endTime != null ? LocalTime.parse(startTime) : null;
+        LocalTime end = start != null ? LocalTime.parse(endTime) : null;
+        String categoryFilter = category != null && !category.trim().isEmpty() ? category : null;
 
-        return activityMap;
+        // One extra row tells whether another page follows without a count query
+        List<Activity> activities = activityRepository.findPage(
+                new ActivityPageQuery(day, start, end, categoryFilter, sortKey, after, pageSize + 1));
+        boolean hasMore = activities.size() > pageSize;
+        List<Activity> page = hasMore ? activities.subList(0, pageSize) : activities;
+
+        String nextCursor = hasMore ? encodeCursor(sortKey, page.get(page.size() - 1)) : null;
+        return new ActivityPageDTO(page.stream().map(activityMapper::toDTO).collect(Collectors.toList()),
+                nextCursor);
     }
 
     public Map<String, ActivityDTO> getActivities(String day, String startTime, String endTime) {
         return getActivities(day, startTime, endTime, null);
     }
 
+    /**
+     * Version tag of the catalog served by {@link #getActivities} and {@link #getAvailableDays}.
+     * Read it before the data: the snapshot only moves forward, so a tag is never newer
+     * than the data it is sent with.
+     */
+    public String getCatalogVersionTag() {
+        return activityCatalog.currentVersionTag();
+    }
+
     public List<String> getAvailableDays() {
-        return activityRepository.findAllUniqueDays()
+        return activityCatalog.current().days();
+    }
+
+    public List<ActivitySummaryDTO> getActivitiesForStudent(String email) {
+        return activityRepository.findByParticipant(new Email(email))
                 .stream()
-                .sorted()
+                .map(activityMapper::toSummaryDTO)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private TimeRangeMatch parseMatch(String match) {
+        if (match == null || match.equals("contained")) {
+            return TimeRangeMatch.CONTAINED;
+        }
+        if (match.equals("overlaps")) {
+            return TimeRangeMatch.OVERLAPS;
+        }
+        if (match.equals("starts_within")) {
+            return TimeRangeMatch.STARTS_WITHIN;
+        }
+        throw new ValidationException("Tipo de correspondência de horário inválido: " + match);
+    }
+
+    private ActivitySortKey parseSortKey(String sort) {
+        if (sort == null || sort.equals("name")) {
+            return ActivitySortKey.NAME;
+        }
+        if (sort.equals("category")) {
+            return ActivitySortKey.CATEGORY;
+        }
+        if (sort.equals("start_time")) {
+            return ActivitySortKey.START_TIME;
+        }
+        throw new ValidationException("Ordenação inválida: " + sort);
+    }
+
+    private String encodeCursor(ActivitySortKey sortKey, Activity last) {
+        String sortValue = null;
+        if (sortKey == ActivitySortKey.CATEGORY && last.getCategory() != null) {
+            sortValue = last.getCategory().name();
+        } else if (sortKey == ActivitySortKey.START_TIME && last.getScheduleDetails() != null) {
+            sortValue = last.getScheduleDetails().startTime().toString();
+        }
+        // The name goes last so it may contain the separator
+        String raw = sortKey.name() + CURSOR_SEPARATOR + (sortValue != null ? "+" + sortValue : "-")
+                + CURSOR_SEPARATOR + last.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ActivityPageCursor decodeCursor(String cursor, ActivitySortKey sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(CURSOR_SEPARATOR, 3);
+            String sortValue = parts[1].startsWith("+") ? parts[1].substring(1) : null;
+            ActivityPageCursor decoded = new ActivityPageCursor(ActivitySortKey.valueOf(parts[0]), sortValue,
+                    parts[2]);
+            if (decoded.sortKey() != sortKey) {
+                throw new ValidationException("Cursor não corresponde à ordenação solicitada");
+            }
+            return decoded;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor de paginação inválido", e);
+        }
+    }
+
+    private Stream<String> matchingNames(CatalogSnapshot snapshot, String day, String startTime, String endTime,
+            String category, TimeRangeMatch match) {
+        LocalTime start = startTime != null && endTime != null ? LocalTime.parse(startTime) : null;
+        LocalTime end = start != null ? LocalTime.parse(endTime) : null;
+        boolean filterCategory = category != null && !category.trim().isEmpty();
+
+        Stream<String> names;
+        if (start != null) {
+            names = new TreeSet<>(snapshot.scheduleIndex().find(match, day, start, end)).stream();
+        } else if (day != null) {
+            names = new TreeSet<>(snapshot.scheduleIndex().scheduledOn(day)).stream();
+        } else {
+            names = snapshot.activities().keySet().stream();
+        }
+        return names.filter(name -> !filterCategory
+                || category.equals(snapshot.activities().get(name).category().name()));
+    }
+}
@@ -1,35 +1,62 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.mergingtonhigh.schoolmanagement.application.auth.PasswordVerificationExecutor;
+import com.mergingtonhigh.schoolmanagement.application.auth.SessionTokenService;
+import com.mergingtonhigh.schoolmanagement.application.auth.SessionTokenService.IssuedToken;
+import com.mergingtonhigh.schoolmanagement.application.dtos.SessionDTO;
 import com.mergingtonhigh.schoolmanagement.application.dtos.TeacherDTO;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
-import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
 import com.mergingtonhigh.schoolmanagement.application.mappers.TeacherMapper;
 
+import jakarta.annotation.PreDestroy;
+
 @Service
 public class AuthenticationUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationUseCase.class);
 
     private final TeacherRepository teacherRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationExecutor passwordVerifier;
     private final TeacherMapper teacherMapper;
+    private final SessionTokenService sessionTokenService;
+    private final ExecutorService hashUpgrades;
 
     public AuthenticationUseCase(TeacherRepository teacherRepository,
-            PasswordEncoder passwordEncoder,
-            TeacherMapper teacherMapper) {
+            PasswordVerificationExecutor passwordVerifier,
+            TeacherMapper teacherMapper,
+            SessionTokenService sessionTokenService) {
         this.teacherRepository = teacherRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordVerifier = passwordVerifier;
         this.teacherMapper = teacherMapper;
+        this.sessionTokenService = sessionTokenService;
+        // Upgrades happen once per teacher after the hash parameters change, so one thread keeps up
+        this.hashUpgrades = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64),
+                Thread.ofPlatform().name("password-hash-upgrader").daemon(true).factory());
     }
 
-    public TeacherDTO login(String username, String password) {
+    /**
+     * Verifies the password on the bounded verification pool, so the calling request
+     * thread is released while the hash runs. A hash with outdated parameters is
+     * replaced by the upgraded one in the background, so the Mongo write neither holds a
+     * verifier thread nor delays the login. Completes exceptionally with
+     * {@link AuthenticationException} for bad credentials, or with
+     * {@code ServiceUnavailableException} when the pool is saturated.
+     */
+    public CompletableFuture<SessionDTO> login(String username, String password) {
         logger.debug("Attempting login for username: {}", username);
         
         Teacher teacher = teacherRepository.findByUsername(username)
@@ -38,24 +65,59 @@ public class AuthenticationUseCase {
                     return new AuthenticationException("Usuário ou senha inválidos");
                 });
 
-        if (!passwordEncoder.matches(password, teacher.getPassword())) {
-            logger.warn("Login failed - invalid password for user: {}", username);
-            throw new AuthenticationException("Usuário ou senha inválidos");
-        }
+        return passwordVerifier.verify(password, teacher.getPassword()).thenApply(verification -> {
+            if (!verification.matches()) {
+                logger.warn("Login failed - invalid password for user: {}", username);
+                throw new AuthenticationException("Usuário ou senha inválidos");
+            }
+            if (verification.upgradedHash() != null) {
+                scheduleHashUpgrade(teacher.getUsername(), teacher.getPassword(), verification.upgradedHash());
+            }
 
-        logger.info("Successful login for user: {}", username);
-        return teacherMapper.toDTO(teacher);
+            logger.info("Successful login for user: {}", username);
+            TeacherDTO teacherDTO = teacherMapper.toDTO(teacher);
+            IssuedToken issued = sessionTokenService.issue(AuthenticatedTeacher.of(teacher));
+            return new SessionDTO(teacherDTO.username(), teacherDTO.displayName(), teacherDTO.role(),
+                    issued.token(), issued.expiresAt());
+        });
     }
 
-    public TeacherDTO checkSession(String username) {
-        logger.debug("Checking session for username: {}", username);
-        
-        Teacher teacher = teacherRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.debug("Session check failed - teacher not found: {}", username);
-                    return new NotFoundException("Professor não encontrado");
-                });
+    @PreDestroy
+    public void shutdown() {
+        hashUpgrades.shutdown();
+    }
 
-        return teacherMapper.toDTO(teacher);
+    private void scheduleHashUpgrade(String username, String outdatedHash, String upgradedHash) {
+        try {
+            hashUpgrades.execute(() -> upgradePasswordHash(username, outdatedHash, upgradedHash));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Hash upgrade queue full, keeping the old hash for user: {}", username);
+        }
+    }
+
+    // Only the hash verified at login is replaced, so a reset, role change or removal made since wins.
+    // A failed upgrade keeps the old hash and is retried on the next login, so it never fails the login
+    private void upgradePasswordHash(String username, String outdatedHash, String upgradedHash) {
+        try {
+            if (teacherRepository.replacePassword(username, outdatedHash, upgradedHash)) {
+                logger.info("Upgraded password hash parameters for user: {}", username);
+            } else {
+                logger.debug("Teacher changed since login, skipping hash upgrade for user: {}", username);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not save upgraded password hash for user: {}", username, e);
+        }
+    }
+
+    /**
+     * Answers from the principal of an already verified session token, without
+     * reading the teacher again.
+     */
+    public TeacherDTO checkSession(AuthenticatedTeacher principal) {
+        if (principal == null) {
+            logger.debug("Session check failed - missing, invalid or expired token");
+            throw new AuthenticationException("Sessão inválida ou expirada");
+        }
+        return teacherMapper.toDTO(principal);
     }
 }
\ No newline at end of file
@@ -1,40 +1,201 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer;
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer.PendingSignup;
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer.SignupBatchHandler;
+import com.mergingtonhigh.schoolmanagement.application.concurrency.OptimisticRetryPolicy;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupResultDTO.EmailResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupResultDTO.Status;
+import com.mergingtonhigh.schoolmanagement.application.dtos.RegistrationResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.WaitlistPositionDTO;
+import com.mergingtonhigh.schoolmanagement.application.scheduling.StudentScheduleIndex;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
-import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
-import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthorizationException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
-import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
 import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ParticipantRemoval;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.WaitlistPosition;
 
 @Service
 public class StudentRegistrationUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentRegistrationUseCase.class);
 
+    static final int MAX_BATCH_SIZE = 200;
+
     private final ActivityRepository activityRepository;
-    private final TeacherRepository teacherRepository;
+    private final OptimisticRetryPolicy retryPolicy;
+    private final ActivityWriteSerializer writeSerializer;
+    private final StudentScheduleIndex scheduleIndex;
+    private final boolean rejectScheduleConflicts;
+    private final SignupBatchHandler signupBatchHandler = this::applySignups;
 
-    public StudentRegistrationUseCase(ActivityRepository activityRepository, TeacherRepository teacherRepository) {
+    public StudentRegistrationUseCase(ActivityRepository activityRepository, OptimisticRetryPolicy retryPolicy, ActivityWriteSerializer writeSerializer,
+            StudentScheduleIndex scheduleIndex,
+            @Value("${registration.schedule-conflicts.reject:true}") boolean rejectScheduleConflicts) {
         this.activityRepository = activityRepository;
-        this.teacherRepository = teacherRepository;
+        this.retryPolicy = retryPolicy;
+        this.writeSerializer = writeSerializer;
+        this.scheduleIndex = scheduleIndex;
+        this.rejectScheduleConflicts = rejectScheduleConflicts;
     }
 
-    public String signupForActivity(String activityName, String email, String teacherUsername) {
+    public RegistrationResultDTO signupForActivity(String activityName, String email, AuthenticatedTeacher teacher) {
+        String teacherUsername = teacher.username();
         logger.debug("Attempting to signup {} for activity {} by teacher {}", email, activityName, teacherUsername);
-        
-        Teacher teacher = teacherRepository.findByUsername(teacherUsername)
-                .orElseThrow(() -> {
-                    logger.warn("Invalid teacher credentials for signup: {}", teacherUsername);
-                    return new AuthenticationException("Credenciais de professor inválidas");
-                });
 
+        Email studentEmail = new Email(email);
+        RegistrationOutcome outcome = writeSerializer.submitSignup(activityName, teacher, studentEmail,
+                signupBatchHandler);
+        if (outcome == RegistrationOutcome.WAITLISTED) {
+            logger.info("Activity {} is full, waitlisted {} by teacher {}", activityName, email, teacherUsername);
+            return new RegistrationResultDTO(String.format("Adicionou %s à lista de espera de %s", email, activityName),
+                    RegistrationResultDTO.Status.WAITLISTED, null);
+        }
+        if (outcome != RegistrationOutcome.ADDED) {
+            logger.warn("Signup of {} for activity {} rejected: {}", email, activityName, outcome);
+            throw rejectionFor(outcome);
+        }
+
+        logger.info("Successfully signed up {} for activity {} by teacher {}", email, activityName, teacherUsername);
+        return new RegistrationResultDTO(String.format("Inscreveu %s em %s", email, activityName),
+                RegistrationResultDTO.Status.ADDED, null);
+    }
+
+    /**
+     * Registers a whole class with one activity read and one versioned write; a
+     * conflicting write re-reads the activity and re-applies the batch.
+     */
+    public BatchSignupResultDTO signupBatchForActivity(String activityName, List<String> emails,
+            AuthenticatedTeacher teacher) {
+        if (emails == null || emails.isEmpty()) {
+            throw new ValidationException("Lista de emails não pode ser vazia");
+        }
+        if (emails.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Lote excede o máximo de " + MAX_BATCH_SIZE + " emails");
+        }
+        String teacherUsername = teacher.username();
+        logger.debug("Attempting batch signup of {} students for activity {} by teacher {}", emails.size(),
+                activityName, teacherUsername);
+
+        List<Email> parsedEmails = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            parsedEmails.add(parseEmailOrNull(email));
+        }
+
+        List<EmailResultDTO> results = writeSerializer.execute(activityName, () -> retryPolicy.execute(
+                activityName, () -> applyBatchSignup(activityName, teacher, emails, parsedEmails)));
+
+        int addedCount = (int) results.stream().filter(result -> result.status() == Status.ADDED).count();
+        logger.info("Batch signup for activity {} by teacher {}: {} of {} added", activityName, teacherUsername,
+                addedCount, emails.size());
+        return new BatchSignupResultDTO(activityName, addedCount, results);
+    }
+
+    public RegistrationResultDTO unregisterFromActivity(String activityName, String email,
+            AuthenticatedTeacher teacher) {
+        String teacherUsername = teacher.username();
+        logger.debug("Attempting to unregister {} from activity {} by teacher {}", email, activityName, teacherUsername);
+
+        ParticipantRemoval removal = writeSerializer.execute(activityName, () -> retryPolicy.execute(
+                activityName, () -> unregisterAtomically(activityName, teacher, email)));
+        if (removal.outcome() != RegistrationOutcome.REMOVED) {
+            logger.warn("Unregistration of {} from activity {} rejected: {}", email, activityName, removal.outcome());
+            throw rejectionFor(removal.outcome());
+        }
+
+        logger.info("Successfully unregistered {} from activity {} by teacher {}", email, activityName, teacherUsername);
+        return new RegistrationResultDTO(String.format("Desinscreveu %s de %s", email, activityName),
+                RegistrationResultDTO.Status.REMOVED, removal.hasPromotion() ? removal.promoted().value() : null);
+    }
+
+    public WaitlistPositionDTO getWaitlistPosition(String activityName, String email) {
+        Email studentEmail = new Email(email);
+        WaitlistPosition position = activityRepository.findWaitlistPosition(activityName, studentEmail)
+                .orElseThrow(() -> new NotFoundException("Atividade não encontrada"));
+
+        if (!position.isWaitlisted()) {
+            throw new NotFoundException("Estudante não está na lista de espera desta atividade");
+        }
+        return new WaitlistPositionDTO(activityName, studentEmail.value(), position.position(),
+                position.waitlistSize());
+    }
+
+    /**
+     * Applies signups queued on the activity's write lane. A lone signup keeps the atomic
+     * conditional update; several queued signups share one activity read and one
+     * versioned save instead of one update each.
+     */
+    private void applySignups(String activityName, List<PendingSignup> batch) {
+        if (batch.size() == 1) {
+            PendingSignup signup = batch.get(0);
+            signup.complete(retryPolicy.execute(activityName,
+                    () -> signupAtomically(activityName, signup.teacher(), signup.email())));
+            return;
+        }
+
+        RegistrationOutcome[] outcomes = new RegistrationOutcome[batch.size()];
+        RuntimeException[] failures = new RuntimeException[batch.size()];
+        retryPolicy.execute(activityName, () -> {
+            Activity activity = activityRepository.findByName(activityName)
+                    .orElseThrow(() -> {
+                        logger.warn("Activity not found for signup: {}", activityName);
+                        return new NotFoundException("Atividade não encontrada");
+                    });
+
+            boolean modified = false;
+            for (int i = 0; i < batch.size(); i++) {
+                outcomes[i] = null;
+                failures[i] = null;
+                try {
+                    validateTeacherAuthorization(batch.get(i).teacher(), activity);
+                } catch (AuthorizationException e) {
+                    failures[i] = e;
+                    continue;
+                }
+                if (hasScheduleConflict(activity, batch.get(i).email())) {
+                    outcomes[i] = RegistrationOutcome.SCHEDULE_CONFLICT;
+                    continue;
+                }
+                outcomes[i] = applySignup(activity, batch.get(i).email());
+                modified |= outcomes[i] == RegistrationOutcome.ADDED || outcomes[i] == RegistrationOutcome.WAITLISTED;
+            }
+
+            if (modified) {
+                activityRepository.save(activity);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (outcomes[i] == RegistrationOutcome.ADDED) {
+                        scheduleIndex.recordEnrollment(batch.get(i).email(), activityName,
+                                activity.getScheduleDetails());
+                    }
+                }
+            }
+            return null;
+        });
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                batch.get(i).fail(failures[i]);
+            } else {
+                batch.get(i).complete(outcomes[i]);
+            }
+        }
+    }
+
+    private RegistrationOutcome signupAtomically(String activityName, AuthenticatedTeacher teacher, Email studentEmail) {
         Activity activity = activityRepository.findByName(activityName)
                 .orElseThrow(() -> {
                     logger.warn("Activity not found for signup: {}", activityName);
@@ -43,24 +204,65 @@ public class StudentRegistrationUseCase {
 
         validateTeacherAuthorization(teacher, activity);
 
-        Email studentEmail = new Email(email);
-        activity.addParticipant(studentEmail);
-
-        activityRepository.save(activity);
+        if (hasScheduleConflict(activity, studentEmail)) {
+            return RegistrationOutcome.SCHEDULE_CONFLICT;
+        }
 
-        logger.info("Successfully signed up {} for activity {} by teacher {}", email, activityName, teacherUsername);
-        return String.format("Inscreveu %s em %s", email, activityName);
+        RegistrationOutcome added = activityRepository.tryAddParticipant(activityName, studentEmail);
+        if (added == RegistrationOutcome.ADDED) {
+            scheduleIndex.recordEnrollment(studentEmail, activityName, activity.getScheduleDetails());
+        }
+        if (added != RegistrationOutcome.FULL) {
+            return added;
+        }
+        return activityRepository.tryJoinWaitlist(activityName, studentEmail);
     }
 
-    public String unregisterFromActivity(String activityName, String email, String teacherUsername) {
-        logger.debug("Attempting to unregister {} from activity {} by teacher {}", email, activityName, teacherUsername);
-        
-        Teacher teacher = teacherRepository.findByUsername(teacherUsername)
+    private List<EmailResultDTO> applyBatchSignup(String activityName, AuthenticatedTeacher teacher, List<String> emails,
+            List<Email> parsedEmails) {
+        Activity activity = activityRepository.findByName(activityName)
                 .orElseThrow(() -> {
-                    logger.warn("Invalid teacher credentials for unregistration: {}", teacherUsername);
-                    return new AuthenticationException("Credenciais de professor inválidas");
+                    logger.warn("Activity not found for batch signup: {}", activityName);
+                    return new NotFoundException("Atividade não encontrada");
                 });
 
+        validateTeacherAuthorization(teacher, activity);
+
+        List<EmailResultDTO> attemptResults = new ArrayList<>(emails.size());
+        boolean modified = false;
+        for (int i = 0; i < emails.size(); i++) {
+            Email studentEmail = parsedEmails.get(i);
+            Status status;
+            if (studentEmail == null) {
+                status = Status.INVALID;
+            } else if (activity.isParticipantRegistered(studentEmail)) {
+                status = Status.DUPLICATE;
+            } else if (hasScheduleConflict(activity, studentEmail)) {
+                status = Status.SCHEDULE_CONFLICT;
+            } else if (!activity.canAddParticipant()) {
+                status = Status.NO_CAPACITY;
+            } else {
+                activity.addParticipant(studentEmail);
+                status = Status.ADDED;
+                modified = true;
+            }
+            attemptResults.add(new EmailResultDTO(
+                    studentEmail != null ? studentEmail.value() : emails.get(i), status));
+        }
+
+        if (modified) {
+            activityRepository.save(activity);
+            for (EmailResultDTO result : attemptResults) {
+                if (result.status() == Status.ADDED) {
+                    scheduleIndex.recordEnrollment(new Email(result.email()), activityName,
+                            activity.getScheduleDetails());
+                }
+            }
+        }
+        return attemptResults;
+    }
+
+    private ParticipantRemoval unregisterAtomically(String activityName, AuthenticatedTeacher teacher, String email) {
         Activity activity = activityRepository.findByName(activityName)
                 .orElseThrow(() -> {
                     logger.warn("Activity not found for unregistration: {}", activityName);
@@ -70,26 +272,107 @@ public class StudentRegistrationUseCase {
         validateTeacherAuthorization(teacher, activity);
 
         Email studentEmail = new Email(email);
-        activity.removeParticipant(studentEmail);
+        ParticipantRemoval removal = activityRepository.tryRemoveParticipant(activityName, activity.getVersion(),
+                studentEmail, promotionCandidate(activity, studentEmail));
+        if (removal.outcome() == RegistrationOutcome.REMOVED) {
+            scheduleIndex.recordRemoval(studentEmail, activityName);
+            if (removal.hasPromotion()) {
+                scheduleIndex.recordEnrollment(removal.promoted(), activityName, activity.getScheduleDetails());
+            }
+        }
+        return removal;
+    }
 
-        activityRepository.save(activity);
+    // Promotion is a signup too: waitlisted students whose schedule now conflicts keep waiting
+    private Email promotionCandidate(Activity activity, Email removed) {
+        if (!activity.isParticipantRegistered(removed)) {
+            return null;
+        }
+        for (String waitlisted : activity.getWaitlist()) {
+            Email candidate = new Email(waitlisted);
+            if (!hasScheduleConflict(activity, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
 
-        logger.info("Successfully unregistered {} from activity {} by teacher {}", email, activityName, teacherUsername);
-        return String.format("Desinscreveu %s de %s", email, activityName);
+    private boolean hasScheduleConflict(Activity activity, Email studentEmail) {
+        String conflicting = scheduleIndex.findConflict(studentEmail, activity.getName(),
+                activity.getScheduleDetails()).orElse(null);
+        if (conflicting == null) {
+            return false;
+        }
+        if (!rejectScheduleConflicts) {
+            logger.warn("Student {} signing up for {} overlaps with {}", studentEmail.value(), activity.getName(),
+                    conflicting);
+            return false;
+        }
+        logger.warn("Signup of {} for {} rejected: overlaps with {}", studentEmail.value(), activity.getName(),
+                conflicting);
+        return true;
+    }
+
+    private RegistrationOutcome applySignup(Activity activity, Email studentEmail) {
+        if (activity.isParticipantRegistered(studentEmail)) {
+            return RegistrationOutcome.DUPLICATE;
+        }
+        if (activity.canAddParticipant()) {
+            activity.addParticipant(studentEmail);
+            return RegistrationOutcome.ADDED;
+        }
+        if (activity.isOnWaitlist(studentEmail)) {
+            return RegistrationOutcome.ALREADY_WAITLISTED;
+        }
+        if (activity.canJoinWaitlist()) {
+            activity.joinWaitlist(studentEmail);
+            return RegistrationOutcome.WAITLISTED;
+        }
+        return RegistrationOutcome.WAITLIST_FULL;
+    }
+
+    private Email parseEmailOrNull(String email) {
+        try {
+            return new Email(email);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private RuntimeException rejectionFor(RegistrationOutcome outcome) {
+        if (outcome == RegistrationOutcome.FULL) {
+            return new IllegalStateException("Atividade está na capacidade máxima");
+        }
+        if (outcome == RegistrationOutcome.WAITLIST_FULL) {
+            return new IllegalStateException("Atividade e lista de espera estão na capacidade máxima");
+        }
+        if (outcome == RegistrationOutcome.ALREADY_WAITLISTED) {
+            return new IllegalArgumentException("Estudante já está na lista de espera desta atividade");
+        }
+        if (outcome == RegistrationOutcome.DUPLICATE) {
+            return new IllegalArgumentException("Estudante já está inscrito nesta atividade");
+        }
+        if (outcome == RegistrationOutcome.SCHEDULE_CONFLICT) {
+            return new IllegalStateException("Estudante já está inscrito em outra atividade no mesmo horário");
+        }
+        if (outcome == RegistrationOutcome.NOT_REGISTERED) {
+            return new IllegalArgumentException("Estudante não está inscrito nesta atividade");
+        }
+        return new NotFoundException("Atividade não encontrada");
     }
 
-    private void validateTeacherAuthorization(Teacher teacher, Activity activity) {
+    private void validateTeacherAuthorization(AuthenticatedTeacher teacher, Activity activity) {
         if (teacher.isAdmin()) {
-            logger.debug("Admin teacher {} authorized for activity {}", teacher.getUsername(), activity.getName());
+            logger.debug("Admin teacher {} authorized for activity {}", teacher.username(), activity.getName());
             return;
         }
 
         if (!activity.canTeachersRegisterStudents()) {
-            logger.warn("Teacher {} not authorized for activity {} - teachers cannot register students", teacher.getUsername(), activity.getName());
+            logger.warn("Teacher {} not authorized for activity {} - teachers cannot register students", teacher.username(), activity.getName());
             throw new AuthorizationException(
                     "Professores não podem registrar estudantes nesta atividade. Apenas administradores podem fazer alterações.");
         }
         
-        logger.debug("Teacher {} authorized for activity {}", teacher.getUsername(), activity.getName());
+        logger.debug("Teacher {} authorized for activity {}", teacher.username(), activity.getName());
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.mergingtonhigh.schoolmanagement.domain.entities;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
@@ -13,17 +18,26 @@ import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
 @Document(collection = "activities")
 public class Activity {
 
+    public static final int DEFAULT_WAITLIST_CAPACITY = 10;
+
     @Id
     private String name;
     private String description;
     private ScheduleDetails scheduleDetails;
     private int maxParticipants;
-    private List<String> participantEmails;
+    // Insertion-ordered so the stored array keeps its order; mapped to the same BSON array as before
+    private Set<String> participantEmails;
+    private List<String> waitlistEmails;
+    private int waitlistCapacity;
     private ActivityCategory category;
     private boolean canTeachersRegisterStudents;
+    @Version
+    private Long version;
 
     public Activity() {
-        this.participantEmails = new ArrayList<>();
+        this.participantEmails = new LinkedHashSet<>();
+        this.waitlistEmails = new ArrayList<>();
+        this.waitlistCapacity = DEFAULT_WAITLIST_CAPACITY;
         this.canTeachersRegisterStudents = true;
     }
 
@@ -34,7 +48,9 @@ public class Activity {
         this.scheduleDetails = scheduleDetails;
         this.maxParticipants = validateMaxParticipants(maxParticipants);
         this.category = category;
-        this.participantEmails = new ArrayList<>();
+        this.participantEmails = new LinkedHashSet<>();
+        this.waitlistEmails = new ArrayList<>();
+        this.waitlistCapacity = DEFAULT_WAITLIST_CAPACITY;
         this.canTeachersRegisterStudents = true;
     }
 
@@ -53,14 +69,59 @@ public class Activity {
         if (isParticipantRegistered(email)) {
             throw new IllegalArgumentException("Estudante já está inscrito nesta atividade");
         }
+        waitlistEmails.remove(email.value());
         participantEmails.add(email.value());
     }
 
+    /**
+     * Removes the participant and, if that frees a spot, promotes the head of the waitlist.
+     */
     public void removeParticipant(Email email) {
         if (!isParticipantRegistered(email)) {
             throw new IllegalArgumentException("Estudante não está inscrito nesta atividade");
         }
         participantEmails.remove(email.value());
+        if (!waitlistEmails.isEmpty() && canAddParticipant()) {
+            participantEmails.add(waitlistEmails.remove(0));
+        }
+    }
+
+    public boolean isOnWaitlist(Email email) {
+        return waitlistEmails.contains(email.value());
+    }
+
+    public boolean canJoinWaitlist() {
+        return waitlistEmails.size() < waitlistCapacity;
+    }
+
+    public void joinWaitlist(Email email) {
+        if (!isFull()) {
+            throw new IllegalStateException("Atividade ainda possui vagas");
+        }
+        if (isParticipantRegistered(email)) {
+            throw new IllegalArgumentException("Estudante já está inscrito nesta atividade");
+        }
+        if (isOnWaitlist(email)) {
+            throw new IllegalArgumentException("Estudante já está na lista de espera desta atividade");
+        }
+        if (!canJoinWaitlist()) {
+            throw new IllegalStateException("Lista de espera está na capacidade máxima");
+        }
+        waitlistEmails.add(email.value());
+    }
+
+    public void leaveWaitlist(Email email) {
+        if (!isOnWaitlist(email)) {
+            throw new IllegalArgumentException("Estudante não está na lista de espera desta atividade");
+        }
+        waitlistEmails.remove(email.value());
+    }
+
+    /**
+     * Returns the 1-based position of the student on the waitlist, or 0 if not waitlisted.
+     */
+    public int getWaitlistPosition(Email email) {
+        return waitlistEmails.indexOf(email.value()) + 1;
     }
 
     private String validateName(String name) {
@@ -77,6 +138,13 @@ public class Activity {
         return description.trim();
     }
 
+    private int validateWaitlistCapacity(int waitlistCapacity) {
+        if (waitlistCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade da lista de espera não pode ser negativa");
+        }
+        return waitlistCapacity;
+    }
+
     private int validateMaxParticipants(int maxParticipants) {
         if (maxParticipants <= 0) {
             throw new IllegalArgumentException("Número máximo de participantes deve ser maior que 0");
@@ -116,12 +184,32 @@ public class Activity {
         this.maxParticipants = validateMaxParticipants(maxParticipants);
     }
 
-    public List<String> getParticipants() {
-        return new ArrayList<>(participantEmails);
+    public Set<String> getParticipants() {
+        return Collections.unmodifiableSet(participantEmails);
+    }
+
+    public void setParticipants(Collection<String> participants) {
+        this.participantEmails = participants != null ? new LinkedHashSet<>(participants) : new LinkedHashSet<>();
+    }
+
+    public List<String> getWaitlist() {
+        return Collections.unmodifiableList(waitlistEmails);
+    }
+
+    public void setWaitlist(List<String> waitlist) {
+        this.waitlistEmails = waitlist != null ? new ArrayList<>(waitlist) : new ArrayList<>();
+    }
+
+    public int getWaitlistCount() {
+        return waitlistEmails.size();
+    }
+
+    public int getWaitlistCapacity() {
+        return waitlistCapacity;
     }
 
-    public void setParticipants(List<String> participants) {
-        this.participantEmails = participants != null ? new ArrayList<>(participants) : new ArrayList<>();
+    public void setWaitlistCapacity(int waitlistCapacity) {
+        this.waitlistCapacity = validateWaitlistCapacity(waitlistCapacity);
     }
 
     public int getCurrentParticipantCount() {
@@ -144,6 +232,14 @@ public class Activity {
         this.canTeachersRegisterStudents = canTeachersRegisterStudents;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public int getRemainingSpots() {
         return Math.max(0, maxParticipants - participantEmails.size());
     }
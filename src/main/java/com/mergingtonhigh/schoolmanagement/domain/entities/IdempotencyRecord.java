@@ -0,0 +1,67 @@
+package com.mergingtonhigh.schoolmanagement.domain.entities;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Response stored for a client-supplied idempotency key so a retried request can be
+ * answered without running the mutation again. Expired records are removed by a TTL
+ * index on {@code expiresAt}.
+ */
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Id
+    private String key;
+    private String requestFingerprint;
+    private String responseBody;
+    private Instant expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String requestFingerprint, String responseBody, Instant expiresAt) {
+        this.key = validateKey(key);
+        this.requestFingerprint = requestFingerprint;
+        this.responseBody = responseBody;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean matches(String fingerprint) {
+        return requestFingerprint != null && requestFingerprint.equals(fingerprint);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    private String validateKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Chave de idempotência não pode ser nula ou vazia");
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Chave de idempotência excede " + MAX_KEY_LENGTH + " caracteres");
+        }
+        return key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mergingtonhigh.schoolmanagement.domain.enums;
+
+/**
+ * Stable orderings for paging through activities. Every ordering breaks ties by name,
+ * which is unique.
+ */
+public enum ActivitySortKey {
+    NAME,
+    CATEGORY,
+    START_TIME
+}
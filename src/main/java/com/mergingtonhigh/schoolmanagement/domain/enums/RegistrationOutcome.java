@@ -0,0 +1,14 @@
+package com.mergingtonhigh.schoolmanagement.domain.enums;
+
+public enum RegistrationOutcome {
+    ADDED,
+    WAITLISTED,
+    REMOVED,
+    FULL,
+    WAITLIST_FULL,
+    DUPLICATE,
+    ALREADY_WAITLISTED,
+    NOT_REGISTERED,
+    SCHEDULE_CONFLICT,
+    NOT_FOUND
+}
@@ -0,0 +1,11 @@
+package com.mergingtonhigh.schoolmanagement.domain.enums;
+
+/**
+ * How an activity's time slot has to relate to a queried time range. Ranges are
+ * inclusive; back-to-back slots do not overlap.
+ */
+public enum TimeRangeMatch {
+    CONTAINED,
+    OVERLAPS,
+    STARTS_WITHIN
+}
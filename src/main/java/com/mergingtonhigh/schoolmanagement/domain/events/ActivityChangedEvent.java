@@ -0,0 +1,18 @@
+package com.mergingtonhigh.schoolmanagement.domain.events;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+
+/**
+ * Published after a write to an activity has been persisted, carrying the activity as
+ * that write stored it, or {@code null} when it was deleted.
+ */
+public record ActivityChangedEvent(String activityName, Activity activity) {
+
+    public static ActivityChangedEvent written(Activity activity) {
+        return new ActivityChangedEvent(activity.getName(), activity);
+    }
+
+    public static ActivityChangedEvent deleted(String activityName) {
+        return new ActivityChangedEvent(activityName, null);
+    }
+}
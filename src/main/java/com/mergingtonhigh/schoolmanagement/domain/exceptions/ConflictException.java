@@ -0,0 +1,15 @@
+package com.mergingtonhigh.schoolmanagement.domain.exceptions;
+
+/**
+ * Exception thrown when a write loses a race against a concurrent modification.
+ */
+public class ConflictException extends RuntimeException {
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+    
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.mergingtonhigh.schoolmanagement.domain.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because a bounded resource is saturated;
+ * the client may retry after the given delay.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -5,6 +5,12 @@ import java.util.List;
 import java.util.Optional;
 
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageQuery;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ParticipantRemoval;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.WaitlistPosition;
 
 public interface ActivityRepository {
 
@@ -18,10 +24,45 @@ public interface ActivityRepository {
 
     List<Activity> findByDayAndTimeRange(String day, LocalTime startTime, LocalTime endTime);
 
-    List<String> findAllUniqueDays();
+    /**
+     * Fetches one page in the query's order, continuing strictly after its cursor, so
+     * only the requested activities are read.
+     */
+    List<Activity> findPage(ActivityPageQuery query);
+
+    /**
+     * Finds the activities the student is enrolled in through the participant index,
+     * projecting away rosters.
+     */
+    List<ActivitySummary> findByParticipant(Email email);
 
     Activity save(Activity activity);
 
+    /**
+     * Adds the participant in a single conditional update that checks capacity and
+     * duplicates on the server, so concurrent signups can never overbook.
+     */
+    RegistrationOutcome tryAddParticipant(String activityName, Email email);
+
+    /**
+     * Appends the student to the waitlist of a full activity in a single conditional update.
+     */
+    RegistrationOutcome tryJoinWaitlist(String activityName, Email email);
+
+    /**
+     * Removes the student from the roster or the waitlist in a single conditional update,
+     * promoting {@code promotionCandidate} into the freed spot in the same write. The update
+     * only applies while the activity is still at {@code expectedVersion}, so the candidate
+     * picked from that state is still valid; otherwise a {@code ConflictException} is thrown.
+     */
+    ParticipantRemoval tryRemoveParticipant(String activityName, Long expectedVersion, Email email,
+            Email promotionCandidate);
+
+    /**
+     * Looks up the waitlist position server-side without loading the roster.
+     */
+    Optional<WaitlistPosition> findWaitlistPosition(String activityName, Email email);
+
     void deleteByName(String name);
 
     boolean existsByName(String name);
@@ -0,0 +1,16 @@
+package com.mergingtonhigh.schoolmanagement.domain.repositories;
+
+import java.util.Optional;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.IdempotencyRecord;
+
+public interface IdempotencyRepository {
+
+    Optional<IdempotencyRecord> findByKey(String key);
+
+    /**
+     * Stores the record unless one already exists for its key. Returns false when
+     * another request stored the key first.
+     */
+    boolean saveIfAbsent(IdempotencyRecord record);
+}
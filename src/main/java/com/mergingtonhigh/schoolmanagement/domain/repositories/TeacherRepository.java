@@ -13,6 +13,13 @@ public interface TeacherRepository {
     
     Teacher save(Teacher teacher);
     
+    /**
+     * Replaces the password hash only while the stored one still equals
+     * {@code expectedPassword}, leaving every other field untouched. Returns false when
+     * the teacher was changed or removed in the meantime.
+     */
+    boolean replacePassword(String username, String expectedPassword, String newPassword);
+    
     void deleteByUsername(String username);
     
     boolean existsByUsername(String username);
@@ -0,0 +1,22 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+
+/**
+ * Position after the last activity of a page: its value for the sort key (null when the
+ * activity has none) and its name as the tie breaker.
+ */
+public record ActivityPageCursor(
+        ActivitySortKey sortKey,
+        String sortValue,
+        String activityName) {
+
+    public ActivityPageCursor {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Chave de ordenação não pode ser nula");
+        }
+        if (activityName == null || activityName.isEmpty()) {
+            throw new IllegalArgumentException("Nome da atividade do cursor não pode ser vazio");
+        }
+    }
+}
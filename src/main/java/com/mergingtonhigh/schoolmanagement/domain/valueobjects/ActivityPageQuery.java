@@ -0,0 +1,34 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import java.time.LocalTime;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+
+/**
+ * One page of activities: optional day, time-range and category filters, the ordering,
+ * the cursor to continue after (null for the first page) and the page size.
+ */
+public record ActivityPageQuery(
+        String day,
+        LocalTime startTime,
+        LocalTime endTime,
+        String category,
+        ActivitySortKey sortKey,
+        ActivityPageCursor after,
+        int limit) {
+
+    public ActivityPageQuery {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Chave de ordenação não pode ser nula");
+        }
+        if (after != null && after.sortKey() != sortKey) {
+            throw new IllegalArgumentException("Cursor não corresponde à ordenação solicitada");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser maior que 0");
+        }
+        if ((startTime == null) != (endTime == null)) {
+            throw new IllegalArgumentException("Horários de início e fim devem ser informados juntos");
+        }
+    }
+}
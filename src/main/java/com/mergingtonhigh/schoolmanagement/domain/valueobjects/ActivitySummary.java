@@ -0,0 +1,19 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+
+/**
+ * Read model of an activity without its participant roster or waitlist.
+ */
+public record ActivitySummary(
+        String name,
+        String description,
+        ActivityCategory category,
+        ScheduleDetails scheduleDetails,
+        int maxParticipants,
+        int currentParticipantCount) {
+
+    public int remainingSpots() {
+        return Math.max(0, maxParticipants - currentParticipantCount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+
+/**
+ * Teacher identity carried by a verified session token, so requests are authorized
+ * without reloading the teacher.
+ */
+public record AuthenticatedTeacher(
+        String username,
+        String displayName,
+        Teacher.Role role) {
+    public AuthenticatedTeacher {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Nome de usuário não pode ser nulo ou vazio");
+        }
+        if (role == null) {
+            throw new IllegalArgumentException("Papel do professor não pode ser nulo");
+        }
+    }
+
+    public static AuthenticatedTeacher of(Teacher teacher) {
+        return new AuthenticatedTeacher(teacher.getUsername(), teacher.getDisplayName(), teacher.getRole());
+    }
+
+    public boolean isAdmin() {
+        return role == Teacher.Role.ADMIN;
+    }
+}
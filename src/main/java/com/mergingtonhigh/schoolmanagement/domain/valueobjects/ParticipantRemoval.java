@@ -0,0 +1,20 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+
+/**
+ * Result of removing a student from an activity, with the waitlisted student promoted
+ * into the freed spot by the same write, if any.
+ */
+public record ParticipantRemoval(
+        RegistrationOutcome outcome,
+        Email promoted) {
+
+    public static ParticipantRemoval of(RegistrationOutcome outcome) {
+        return new ParticipantRemoval(outcome, null);
+    }
+
+    public boolean hasPromotion() {
+        return promoted != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+import java.time.LocalTime;
+
+public record TimeSlot(
+        LocalTime startTime,
+        LocalTime endTime) {
+    public TimeSlot {
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("Horários do intervalo não podem ser nulos");
+        }
+        if (startTime.isAfter(endTime)) {
+            throw new IllegalArgumentException("Horário de início não pode ser posterior ao horário de fim");
+        }
+    }
+}
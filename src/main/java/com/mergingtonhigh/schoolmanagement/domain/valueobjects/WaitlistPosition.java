@@ -0,0 +1,18 @@
+package com.mergingtonhigh.schoolmanagement.domain.valueobjects;
+
+/**
+ * 1-based position of a student on an activity waitlist; 0 means not waitlisted.
+ */
+public record WaitlistPosition(
+        int position,
+        int waitlistSize) {
+    public WaitlistPosition {
+        if (position < 0 || waitlistSize < 0 || position > waitlistSize) {
+            throw new IllegalArgumentException("Posição na lista de espera inválida");
+        }
+    }
+
+    public boolean isWaitlisted() {
+        return position > 0;
+    }
+}
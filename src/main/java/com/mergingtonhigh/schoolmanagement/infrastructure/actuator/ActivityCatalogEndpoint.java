@@ -0,0 +1,46 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.actuator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.mergingtonhigh.schoolmanagement.application.catalog.ActivityCatalog;
+import com.mergingtonhigh.schoolmanagement.application.catalog.CatalogSnapshot;
+
+/**
+ * Exposes the in-memory activity catalog at {@code /actuator/catalog}; a POST forces a
+ * full reload from Mongo and needs an admin session token.
+ */
+@Component
+@Endpoint(id = "catalog")
+public class ActivityCatalogEndpoint {
+
+    private final ActivityCatalog activityCatalog;
+
+    public ActivityCatalogEndpoint(ActivityCatalog activityCatalog) {
+        this.activityCatalog = activityCatalog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        return describe(activityCatalog.current());
+    }
+
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        return describe(activityCatalog.refresh());
+    }
+
+    private Map<String, Object> describe(CatalogSnapshot snapshot) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", snapshot.version());
+        description.put("refreshedAt", snapshot.refreshedAt());
+        description.put("activities", snapshot.activities().size());
+        description.put("days", snapshot.days());
+        return description;
+    }
+}
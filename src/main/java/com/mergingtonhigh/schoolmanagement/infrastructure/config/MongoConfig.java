@@ -1,5 +1,8 @@
 package com.mergingtonhigh.schoolmanagement.infrastructure.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,13 +13,19 @@ import com.mongodb.WriteConcern;
 @Configuration
 public class MongoConfig {
 
+    /**
+     * The pool size and wait are configurable because on virtual threads nothing caps
+     * concurrent requests before the pool does (see {@code application-virtual-threads.properties}).
+     */
     @Bean
-    public MongoClientSettingsBuilderCustomizer mongoClientSettingsBuilderCustomizer() {
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsBuilderCustomizer(
+            @Value("${mongo.pool.max-size:50}") int maxPoolSize,
+            @Value("${mongo.pool.max-wait:PT5S}") Duration maxWait) {
         return builder -> builder
                 .applyToConnectionPoolSettings(poolBuilder -> poolBuilder
-                        .maxSize(50) 
+                        .maxSize(maxPoolSize) 
                         .minSize(5) 
-                        .maxWaitTime(5000, java.util.concurrent.TimeUnit.MILLISECONDS)
+                        .maxWaitTime(maxWait.toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS)
                         .maxConnectionIdleTime(60000, java.util.concurrent.TimeUnit.MILLISECONDS))
 
                 .readPreference(ReadPreference.nearest())
@@ -1,30 +1,70 @@
 package com.mergingtonhigh.schoolmanagement.infrastructure.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.application.auth.SessionTokenService;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.Argon2Calibrator;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.RateLimitFilter;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.RateLimitProperties;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.SessionTokenFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
     
+    /**
+     * Session tokens are resolved first so the rate limiter can key registrations by teacher.
+     * Actuator write operations, such as the catalog reload, are reserved for admins.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SessionTokenService sessionTokenService,
+            RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry, ObjectMapper objectMapper)
+            throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new SessionTokenFilter(sessionTokenService), AnonymousAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimitProperties, meterRegistry, objectMapper),
+                    SessionTokenFilter.class)
             .authorizeHttpRequests(authz -> authz
+                .requestMatchers(HttpMethod.POST, "/actuator/**").hasRole(Teacher.Role.ADMIN.name())
                 .anyRequest().permitAll()
             );
         
         return http.build();
     }
     
+    /**
+     * Argon2id tuned at startup to {@code auth.password.calibration.target} per
+     * verification. Stored hashes below these parameters are upgraded on the next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.calibration.enabled:true}") boolean calibrate,
+            @Value("${auth.password.calibration.target:PT0.1S}") Duration target,
+            @Value("${auth.password.calibration.min-memory-kib:19456}") int minMemoryKib,
+            @Value("${auth.password.calibration.max-memory-kib:131072}") int maxMemoryKib,
+            @Value("${auth.password.calibration.min-iterations:2}") int minIterations,
+            @Value("${auth.password.calibration.max-iterations:10}") int maxIterations) {
+        Argon2Calibrator calibrator = new Argon2Calibrator(target, minMemoryKib, maxMemoryKib, minIterations,
+                maxIterations);
+        return (calibrate ? calibrator.calibrate() : calibrator.floor()).encoder();
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,36 @@
 package com.mergingtonhigh.schoolmanagement.infrastructure.config;
 
+import java.time.Duration;
+
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Fingerprinted names change with their content, so a cached copy never goes stale
+    private static final CacheControl FINGERPRINTED_ASSETS = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // index.html is reached through here and must be revalidated to pick up new asset names
         registry.addResourceHandler("/static/**")
-                .addResourceLocations("classpath:/static/");
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // Written by the static asset build stage; served as the precompressed .br/.gz
+        // sibling when the client accepts it
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(FINGERPRINTED_ASSETS)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
     }
 }
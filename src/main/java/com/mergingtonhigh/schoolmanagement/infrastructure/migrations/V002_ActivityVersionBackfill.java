@@ -0,0 +1,39 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.migrations;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+
+/**
+ * Activities written before optimistic locking have no version field and would be
+ * treated as new documents (and re-inserted) by a versioned save.
+ */
+@ChangeUnit(id = "activity-version-backfill", order = "002", author = "Andre Fontoura")
+public class V002_ActivityVersionBackfill {
+
+        private final MongoTemplate mongoTemplate;
+
+        public V002_ActivityVersionBackfill(MongoTemplate mongoTemplate) {
+                this.mongoTemplate = mongoTemplate;
+        }
+
+        @Execution
+        public void changeSet() {
+                mongoTemplate.updateMulti(
+                                new Query(Criteria.where("version").exists(false)),
+                                new Update().set("version", 0L),
+                                Activity.class);
+        }
+
+        @RollbackExecution
+        public void rollback() {
+                mongoTemplate.updateMulti(new Query(), new Update().unset("version"), Activity.class);
+        }
+}
@@ -0,0 +1,47 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.migrations;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+
+/**
+ * The conditional waitlist updates use $size on the waitlist, which fails on documents
+ * that do not have the field yet.
+ */
+@ChangeUnit(id = "activity-waitlist-backfill", order = "003", author = "Andre Fontoura")
+public class V003_ActivityWaitlistBackfill {
+
+        private final MongoTemplate mongoTemplate;
+
+        public V003_ActivityWaitlistBackfill(MongoTemplate mongoTemplate) {
+                this.mongoTemplate = mongoTemplate;
+        }
+
+        @Execution
+        public void changeSet() {
+                mongoTemplate.updateMulti(
+                                new Query(Criteria.where("waitlistEmails").exists(false)),
+                                new Update().set("waitlistEmails", List.of()),
+                                Activity.class);
+                mongoTemplate.updateMulti(
+                                new Query(Criteria.where("waitlistCapacity").exists(false)),
+                                new Update().set("waitlistCapacity", Activity.DEFAULT_WAITLIST_CAPACITY),
+                                Activity.class);
+        }
+
+        @RollbackExecution
+        public void rollback() {
+                mongoTemplate.updateMulti(new Query(),
+                                new Update().unset("waitlistEmails").unset("waitlistCapacity"),
+                                Activity.class);
+        }
+}
@@ -0,0 +1,37 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.migrations;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+
+/**
+ * Multikey index so a student's enrollments are found without scanning every roster.
+ */
+@ChangeUnit(id = "participant-index", order = "004", author = "Andre Fontoura")
+public class V004_ParticipantIndex {
+
+        static final String INDEX_NAME = "participantEmails_1";
+
+        private final MongoTemplate mongoTemplate;
+
+        public V004_ParticipantIndex(MongoTemplate mongoTemplate) {
+                this.mongoTemplate = mongoTemplate;
+        }
+
+        @Execution
+        public void changeSet() {
+                mongoTemplate.indexOps(Activity.class).createIndex(
+                                new Index().on("participantEmails", Sort.Direction.ASC).named(INDEX_NAME));
+        }
+
+        @RollbackExecution
+        public void rollback() {
+                mongoTemplate.indexOps(Activity.class).dropIndex(INDEX_NAME);
+        }
+}
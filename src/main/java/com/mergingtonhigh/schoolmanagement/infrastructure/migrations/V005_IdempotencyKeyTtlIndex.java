@@ -0,0 +1,42 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.migrations;
+
+import java.time.Duration;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.IdempotencyRecord;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+
+/**
+ * TTL index that lets Mongo drop stored idempotent responses once they expire. Each
+ * record carries its own expiry, so the retention can change without a new index.
+ */
+@ChangeUnit(id = "idempotency-key-ttl-index", order = "005", author = "Andre Fontoura")
+public class V005_IdempotencyKeyTtlIndex {
+
+        static final String INDEX_NAME = "expiresAt_ttl";
+
+        private final MongoTemplate mongoTemplate;
+
+        public V005_IdempotencyKeyTtlIndex(MongoTemplate mongoTemplate) {
+                this.mongoTemplate = mongoTemplate;
+        }
+
+        @Execution
+        public void changeSet() {
+                mongoTemplate.indexOps(IdempotencyRecord.class).createIndex(
+                                new Index().on("expiresAt", Sort.Direction.ASC)
+                                                .expire(Duration.ZERO)
+                                                .named(INDEX_NAME));
+        }
+
+        @RollbackExecution
+        public void rollback() {
+                mongoTemplate.indexOps(IdempotencyRecord.class).dropIndex(INDEX_NAME);
+        }
+}
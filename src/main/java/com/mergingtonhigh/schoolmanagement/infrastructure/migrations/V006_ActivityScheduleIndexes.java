@@ -0,0 +1,66 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.migrations;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+
+/**
+ * Compound indexes for the combined day, time range and category activity filter and
+ * for the category and start-time page orderings, equality keys first and range keys
+ * last, so none of those queries falls back to a collection scan.
+ */
+@ChangeUnit(id = "activity-schedule-indexes", order = "006", author = "Andre Fontoura")
+public class V006_ActivityScheduleIndexes {
+
+        static final String DAYS_START_END = "days_startTime_endTime";
+        static final String CATEGORY_DAYS_START_END = "category_days_startTime_endTime";
+        static final String CATEGORY_ID = "category_id";
+        static final String START_ID = "startTime_id";
+
+        private static final String DAYS = "scheduleDetails.days";
+        private static final String START_TIME = "scheduleDetails.startTime";
+        private static final String END_TIME = "scheduleDetails.endTime";
+        private static final String CATEGORY = "category";
+
+        private final MongoTemplate mongoTemplate;
+
+        public V006_ActivityScheduleIndexes(MongoTemplate mongoTemplate) {
+                this.mongoTemplate = mongoTemplate;
+        }
+
+        @Execution
+        public void changeSet() {
+                List<Index> indexes = List.of(
+                                new Index().on(DAYS, Sort.Direction.ASC)
+                                                .on(START_TIME, Sort.Direction.ASC)
+                                                .on(END_TIME, Sort.Direction.ASC)
+                                                .named(DAYS_START_END),
+                                new Index().on(CATEGORY, Sort.Direction.ASC)
+                                                .on(DAYS, Sort.Direction.ASC)
+                                                .on(START_TIME, Sort.Direction.ASC)
+                                                .on(END_TIME, Sort.Direction.ASC)
+                                                .named(CATEGORY_DAYS_START_END),
+                                new Index().on(CATEGORY, Sort.Direction.ASC)
+                                                .on("_id", Sort.Direction.ASC)
+                                                .named(CATEGORY_ID),
+                                new Index().on(START_TIME, Sort.Direction.ASC)
+                                                .on("_id", Sort.Direction.ASC)
+                                                .named(START_ID));
+                indexes.forEach(index -> mongoTemplate.indexOps(Activity.class).createIndex(index));
+        }
+
+        @RollbackExecution
+        public void rollback() {
+                for (String name : List.of(DAYS_START_END, CATEGORY_DAYS_START_END, CATEGORY_ID, START_ID)) {
+                        mongoTemplate.indexOps(Activity.class).dropIndex(name);
+                }
+        }
+}
@@ -1,26 +1,63 @@
 package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.events.ActivityChangedEvent;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ConflictException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageCursor;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageQuery;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ParticipantRemoval;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.WaitlistPosition;
 
 @Repository
 public class ActivityRepositoryImpl implements ActivityRepository {
 
+    private static final String ID_FIELD = "_id";
+    private static final String PARTICIPANTS_FIELD = "participantEmails";
+    private static final String MAX_PARTICIPANTS_FIELD = "maxParticipants";
+    private static final String WAITLIST_FIELD = "waitlistEmails";
+    private static final String WAITLIST_CAPACITY_FIELD = "waitlistCapacity";
+    private static final String VERSION_FIELD = "version";
+    private static final String CATEGORY_FIELD = "category";
+    private static final String DAYS_FIELD = "scheduleDetails.days";
+    private static final String START_TIME_FIELD = "scheduleDetails.startTime";
+    private static final String END_TIME_FIELD = "scheduleDetails.endTime";
+    private static final String ACTIVITIES_COLLECTION = "activities";
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
     private final MongoActivityRepository mongoRepository;
     private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ActivityRepositoryImpl(MongoActivityRepository mongoRepository, MongoTemplate mongoTemplate) {
+    public ActivityRepositoryImpl(MongoActivityRepository mongoRepository, MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher) {
         this.mongoRepository = mongoRepository;
         this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,27 +86,284 @@ public class ActivityRepositoryImpl implements ActivityRepository {
     }
 
     @Override
-    public List<String> findAllUniqueDays() {
-        Aggregation aggregation = Aggregation.newAggregation(
-                Aggregation.unwind("scheduleDetails.days"),
-                Aggregation.group().addToSet("scheduleDetails.days").as("days"),
-                Aggregation.unwind("days"),
-                Aggregation.sort(org.springframework.data.domain.Sort.by("days")));
+    public List<Activity> findPage(ActivityPageQuery page) {
+        return mongoTemplate.find(pageQuery(page), Activity.class);
+    }
 
-        AggregationResults<String> results = mongoTemplate.aggregate(
-                aggregation, "activities", String.class);
+    @Override
+    public List<ActivitySummary> findByParticipant(Email email) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(PARTICIPANTS_FIELD).is(email.value())),
+                context -> new Document("$project", summaryProjection()));
 
-        return results.getMappedResults();
+        return mongoTemplate.aggregate(aggregation, "activities", ActivitySummary.class).getMappedResults();
     }
 
     @Override
     public Activity save(Activity activity) {
-        return mongoRepository.save(activity);
+        try {
+            Activity saved = mongoRepository.save(activity);
+            eventPublisher.publishEvent(ActivityChangedEvent.written(saved));
+            return saved;
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Atividade foi modificada concorrentemente: " + activity.getName(), e);
+        }
+    }
+
+    @Override
+    public RegistrationOutcome tryAddParticipant(String activityName, Email email) {
+        Query query = new Query(Criteria.where(ID_FIELD).is(activityName)
+                .and(PARTICIPANTS_FIELD).ne(email.value())
+                .andOperator(Criteria.expr(ComparisonOperators.Lt
+                        .valueOf(ArrayOperators.Size.lengthOfArray(PARTICIPANTS_FIELD))
+                        .lessThan(MAX_PARTICIPANTS_FIELD))));
+        Update update = new Update()
+                .push(PARTICIPANTS_FIELD, email.value())
+                .pull(WAITLIST_FIELD, email.value())
+                .inc(VERSION_FIELD, 1);
+
+        if (publishIfWritten(mongoTemplate.findAndModify(query, update, RETURN_NEW, Activity.class))) {
+            return RegistrationOutcome.ADDED;
+        }
+
+        // Only the rejected path pays for the extra reads needed to explain the rejection
+        if (isParticipantStored(activityName, email)) {
+            return RegistrationOutcome.DUPLICATE;
+        }
+        if (isAtCapacity(activityName)) {
+            return RegistrationOutcome.FULL;
+        }
+        if (existsByName(activityName)) {
+            throw new ConflictException("Atividade foi modificada concorrentemente: " + activityName);
+        }
+        return RegistrationOutcome.NOT_FOUND;
+    }
+
+    @Override
+    public RegistrationOutcome tryJoinWaitlist(String activityName, Email email) {
+        Query query = new Query(Criteria.where(ID_FIELD).is(activityName)
+                .and(PARTICIPANTS_FIELD).ne(email.value())
+                .and(WAITLIST_FIELD).ne(email.value())
+                .andOperator(
+                        Criteria.expr(ComparisonOperators.Gte
+                                .valueOf(ArrayOperators.Size.lengthOfArray(PARTICIPANTS_FIELD))
+                                .greaterThanEqualTo(MAX_PARTICIPANTS_FIELD)),
+                        Criteria.expr(ComparisonOperators.Lt
+                                .valueOf(ArrayOperators.Size.lengthOfArray(WAITLIST_FIELD))
+                                .lessThan(WAITLIST_CAPACITY_FIELD))));
+        Update update = new Update().push(WAITLIST_FIELD, email.value()).inc(VERSION_FIELD, 1);
+
+        if (publishIfWritten(mongoTemplate.findAndModify(query, update, RETURN_NEW, Activity.class))) {
+            return RegistrationOutcome.WAITLISTED;
+        }
+
+        if (isParticipantStored(activityName, email)) {
+            return RegistrationOutcome.DUPLICATE;
+        }
+        if (isWaitlistStored(activityName, email)) {
+            return RegistrationOutcome.ALREADY_WAITLISTED;
+        }
+        if (!existsByName(activityName)) {
+            return RegistrationOutcome.NOT_FOUND;
+        }
+        if (isAtCapacity(activityName)) {
+            return RegistrationOutcome.WAITLIST_FULL;
+        }
+        // A spot opened up after the signup saw the activity as full
+        throw new ConflictException("Atividade foi modificada concorrentemente: " + activityName);
+    }
+
+    @Override
+    public ParticipantRemoval tryRemoveParticipant(String activityName, Long expectedVersion, Email email,
+            Email promotionCandidate) {
+        Query query = new Query(Criteria.where(ID_FIELD).is(activityName)
+                .and(VERSION_FIELD).is(expectedVersion)
+                .orOperator(
+                        Criteria.where(PARTICIPANTS_FIELD).is(email.value()),
+                        Criteria.where(WAITLIST_FIELD).is(email.value())));
+
+        Activity updated = mongoTemplate.findAndModify(query, removeAndPromote(email, promotionCandidate),
+                RETURN_NEW, Activity.class, ACTIVITIES_COLLECTION);
+        if (publishIfWritten(updated)) {
+            // Read back rather than assumed: the candidate only moves if the removal freed a spot
+            boolean promoted = promotionCandidate != null
+                    && updated.getParticipants().contains(promotionCandidate.value());
+            return new ParticipantRemoval(RegistrationOutcome.REMOVED, promoted ? promotionCandidate : null);
+        }
+
+        if (isParticipantStored(activityName, email) || isWaitlistStored(activityName, email)) {
+            throw new ConflictException("Atividade foi modificada concorrentemente: " + activityName);
+        }
+        return ParticipantRemoval.of(existsByName(activityName)
+                ? RegistrationOutcome.NOT_REGISTERED
+                : RegistrationOutcome.NOT_FOUND);
+    }
+
+    @Override
+    public Optional<WaitlistPosition> findWaitlistPosition(String activityName, Email email) {
+        Document waitlist = waitlistOrEmpty();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(ID_FIELD).is(activityName)),
+                context -> new Document("$project", new Document(ID_FIELD, 0)
+                        .append("index", new Document("$indexOfArray", List.of(waitlist, email.value())))
+                        .append("size", new Document("$size", waitlist))));
+
+        Document result = mongoTemplate.aggregate(aggregation, "activities", Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new WaitlistPosition(result.getInteger("index") + 1, result.getInteger("size")));
+    }
+
+    /**
+     * Pipeline update that drops the student from the roster or waitlist and, when a
+     * roster spot is freed, moves the waitlisted candidate into it within the same document
+     * write. Without a candidate the spot is left open.
+     */
+    private AggregationUpdate removeAndPromote(Email email, Email promotionCandidate) {
+        String value = email.value();
+        Document waitlist = waitlistOrEmpty();
+        Document remainingParticipants = withoutValue("$" + PARTICIPANTS_FIELD, value);
+        if (promotionCandidate == null) {
+            Document set = new Document(PARTICIPANTS_FIELD, remainingParticipants)
+                    .append(WAITLIST_FIELD, withoutValue(waitlist, value))
+                    .append(VERSION_FIELD, nextVersion());
+            return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+        }
+
+        String candidate = promotionCandidate.value();
+        Document promote = new Document("$and", List.of(
+                new Document("$in", List.of(value, "$" + PARTICIPANTS_FIELD)),
+                new Document("$in", List.of(candidate, waitlist)),
+                new Document("$lt", List.of(new Document("$size", remainingParticipants),
+                        "$" + MAX_PARTICIPANTS_FIELD))));
+
+        Document set = new Document(PARTICIPANTS_FIELD, new Document("$cond", List.of(promote,
+                new Document("$concatArrays", List.of(remainingParticipants, List.of(candidate))),
+                remainingParticipants)))
+                .append(WAITLIST_FIELD, new Document("$cond", List.of(promote,
+                        withoutValue(waitlist, candidate),
+                        withoutValue(waitlist, value))))
+                .append(VERSION_FIELD, nextVersion());
+
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+    }
+
+    private Document summaryProjection() {
+        return new Document("name", "$" + ID_FIELD)
+                .append("description", 1)
+                .append("category", 1)
+                .append("scheduleDetails", 1)
+                .append(MAX_PARTICIPANTS_FIELD, 1)
+                .append("currentParticipantCount", new Document("$size",
+                        new Document("$ifNull", List.of("$" + PARTICIPANTS_FIELD, List.of()))));
+    }
+
+    private Document nextVersion() {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + VERSION_FIELD, 0L)), 1L));
+    }
+
+    private Document waitlistOrEmpty() {
+        return new Document("$ifNull", List.of("$" + WAITLIST_FIELD, List.of()));
+    }
+
+    private Document withoutValue(Object array, String value) {
+        return new Document("$filter", new Document("input", array)
+                .append("cond", new Document("$ne", List.of("$$this", value))));
+    }
+
+    /**
+     * Day, time range, category and cursor in one filter, shaped for the compound
+     * schedule indexes created by V006.
+     */
+    Query pageQuery(ActivityPageQuery page) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (page.category() != null) {
+            criteria.add(Criteria.where(CATEGORY_FIELD).is(page.category()));
+        }
+        if (page.day() != null) {
+            criteria.add(Criteria.where(DAYS_FIELD).is(page.day()));
+        }
+        if (page.startTime() != null) {
+            criteria.add(Criteria.where(START_TIME_FIELD).gte(page.startTime()));
+            criteria.add(Criteria.where(END_TIME_FIELD).lte(page.endTime()));
+        }
+        if (page.after() != null) {
+            criteria.add(after(page.after()));
+        }
+
+        Query query = new Query();
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        String sortField = sortFieldOf(page.sortKey());
+        Sort sort = ID_FIELD.equals(sortField)
+                ? Sort.by(Sort.Direction.ASC, ID_FIELD)
+                : Sort.by(Sort.Direction.ASC, sortField, ID_FIELD);
+        return query.with(sort).limit(page.limit());
+    }
+
+    // Keyset condition: strictly after (sortValue, name) in ascending order, where a
+    // missing sort value sorts before every present one as it does in Mongo
+    private Criteria after(ActivityPageCursor cursor) {
+        String sortField = sortFieldOf(cursor.sortKey());
+        if (ID_FIELD.equals(sortField)) {
+            return Criteria.where(ID_FIELD).gt(cursor.activityName());
+        }
+        if (cursor.sortValue() == null) {
+            return new Criteria().orOperator(
+                    Criteria.where(sortField).is(null).and(ID_FIELD).gt(cursor.activityName()),
+                    Criteria.where(sortField).ne(null));
+        }
+        Object value = cursor.sortKey() == ActivitySortKey.START_TIME
+                ? LocalTime.parse(cursor.sortValue())
+                : cursor.sortValue();
+        return new Criteria().orOperator(
+                Criteria.where(sortField).gt(value),
+                Criteria.where(sortField).is(value).and(ID_FIELD).gt(cursor.activityName()));
+    }
+
+    private String sortFieldOf(ActivitySortKey sortKey) {
+        if (sortKey == ActivitySortKey.CATEGORY) {
+            return CATEGORY_FIELD;
+        }
+        if (sortKey == ActivitySortKey.START_TIME) {
+            return START_TIME_FIELD;
+        }
+        return ID_FIELD;
+    }
+
+    // Listeners get the document the write returned, so none of them has to read it back
+    private boolean publishIfWritten(Activity updated) {
+        if (updated == null) {
+            return false;
+        }
+        eventPublisher.publishEvent(ActivityChangedEvent.written(updated));
+        return true;
+    }
+
+    private boolean isParticipantStored(String activityName, Email email) {
+        return mongoTemplate.exists(new Query(Criteria.where(ID_FIELD).is(activityName)
+                .and(PARTICIPANTS_FIELD).is(email.value())), Activity.class);
+    }
+
+    private boolean isWaitlistStored(String activityName, Email email) {
+        return mongoTemplate.exists(new Query(Criteria.where(ID_FIELD).is(activityName)
+                .and(WAITLIST_FIELD).is(email.value())), Activity.class);
+    }
+
+    private boolean isAtCapacity(String activityName) {
+        return mongoTemplate.exists(new Query(Criteria.where(ID_FIELD).is(activityName)
+                .andOperator(Criteria.expr(ComparisonOperators.Gte
+                        .valueOf(ArrayOperators.Size.lengthOfArray(PARTICIPANTS_FIELD))
+                        .greaterThanEqualTo(MAX_PARTICIPANTS_FIELD)))), Activity.class);
     }
 
     @Override
     public void deleteByName(String name) {
         mongoRepository.deleteById(name);
+        eventPublisher.publishEvent(ActivityChangedEvent.deleted(name));
     }
 
     @Override
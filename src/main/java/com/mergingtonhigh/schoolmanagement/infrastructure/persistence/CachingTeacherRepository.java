@@ -0,0 +1,217 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through cache in front of the {@code teachers} collection. Entries are evicted
+ * least recently used beyond {@code teacher.cache.max-entries} and expire after
+ * {@code teacher.cache.ttl}; unknown usernames are remembered for the shorter
+ * {@code teacher.cache.negative-ttl}. Writes through this repository invalidate the
+ * username, and a lookup that raced with any write is not cached. Changes made by
+ * other instances become visible when the entry expires.
+ *
+ * <p>Hits, misses, evictions and size are published as the standard {@code cache.*}
+ * meters tagged {@code cache=teachers}, under {@code /actuator/metrics}.
+ */
+@Primary
+@Repository
+public class CachingTeacherRepository implements TeacherRepository {
+
+    static final String CACHE_NAME = "teachers";
+
+    private final TeacherRepository delegate;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<String, Entry> entries;
+    // Guarded by entries; bumped by every write so lookups that overlapped it are not cached
+    private long generation;
+
+    @Autowired
+    public CachingTeacherRepository(TeacherRepositoryImpl delegate, MeterRegistry meterRegistry,
+            @Value("${teacher.cache.max-entries:1000}") int maxEntries,
+            @Value("${teacher.cache.ttl:PT5M}") Duration ttl,
+            @Value("${teacher.cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this(delegate, meterRegistry, maxEntries, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    CachingTeacherRepository(TeacherRepository delegate, MeterRegistry meterRegistry, int maxEntries,
+            Duration ttl, Duration negativeTtl, Clock clock) {
+        if (maxEntries < 1 || ttl.isNegative() || ttl.isZero() || negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Configuração do cache de professores inválida");
+        }
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, CachingTeacherRepository::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Teacher> findAll() {
+        long observedGeneration = currentGeneration();
+        List<Teacher> teachers = delegate.findAll();
+        for (Teacher teacher : teachers) {
+            cacheIfUnchanged(teacher.getUsername(), teacher, observedGeneration);
+        }
+        return teachers;
+    }
+
+    @Override
+    public Optional<Teacher> findByUsername(String username) {
+        if (username == null) {
+            return delegate.findByUsername(null);
+        }
+        long observedGeneration;
+        synchronized (entries) {
+            Entry entry = freshEntry(username);
+            if (entry != null) {
+                hits.increment();
+                return Optional.ofNullable(copyOf(entry.teacher()));
+            }
+            observedGeneration = generation;
+        }
+        misses.increment();
+        Optional<Teacher> loaded = delegate.findByUsername(username);
+        cacheIfUnchanged(username, loaded.orElse(null), observedGeneration);
+        return loaded;
+    }
+
+    @Override
+    public Teacher save(Teacher teacher) {
+        try {
+            return delegate.save(teacher);
+        } finally {
+            invalidate(teacher.getUsername());
+        }
+    }
+
+    @Override
+    public boolean replacePassword(String username, String expectedPassword, String newPassword) {
+        try {
+            return delegate.replacePassword(username, expectedPassword, newPassword);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public void deleteByUsername(String username) {
+        try {
+            delegate.deleteByUsername(username);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry freshEntry(String username) {
+        Entry entry = entries.get(username);
+        if (entry != null && !entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(username);
+            evictions.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private void cacheIfUnchanged(String username, Teacher teacher, long observedGeneration) {
+        Teacher cached = teacher != null ? copyOf(teacher) : null;
+        if (teacher != null && cached == null) {
+            return;
+        }
+        Duration lifetime = cached != null ? ttl : negativeTtl;
+        if (lifetime.isZero()) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation == observedGeneration) {
+                entries.put(username, new Entry(cached, clock.instant().plus(lifetime)));
+            }
+        }
+    }
+
+    private void invalidate(String username) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(username);
+        }
+    }
+
+    private long currentGeneration() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    // Callers mutate the teachers they read before saving them, so the cache never hands out its own instances
+    private static Teacher copyOf(Teacher teacher) {
+        if (teacher == null) {
+            return null;
+        }
+        try {
+            return new Teacher(teacher.getUsername(), teacher.getDisplayName(), teacher.getPassword(),
+                    teacher.getRole());
+        } catch (IllegalArgumentException e) {
+            // A stored document that fails validation is served from Mongo every time
+            return null;
+        }
+    }
+
+    private record Entry(Teacher teacher, Instant expiresAt) {
+    }
+}
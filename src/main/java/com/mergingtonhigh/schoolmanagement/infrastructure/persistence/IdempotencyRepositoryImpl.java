@@ -0,0 +1,35 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
+
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.IdempotencyRecord;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.IdempotencyRepository;
+
+@Repository
+public class IdempotencyRepositoryImpl implements IdempotencyRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public IdempotencyRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findByKey(String key) {
+        return Optional.ofNullable(mongoTemplate.findById(key, IdempotencyRecord.class));
+    }
+
+    @Override
+    public boolean saveIfAbsent(IdempotencyRecord record) {
+        try {
+            mongoTemplate.insert(record);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
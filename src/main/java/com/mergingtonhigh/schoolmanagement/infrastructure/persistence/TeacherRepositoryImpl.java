@@ -2,6 +2,10 @@ package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
 
 import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,9 +15,11 @@ import java.util.Optional;
 public class TeacherRepositoryImpl implements TeacherRepository {
     
     private final MongoTeacherRepository mongoRepository;
+    private final MongoTemplate mongoTemplate;
     
-    public TeacherRepositoryImpl(MongoTeacherRepository mongoRepository) {
+    public TeacherRepositoryImpl(MongoTeacherRepository mongoRepository, MongoTemplate mongoTemplate) {
         this.mongoRepository = mongoRepository;
+        this.mongoTemplate = mongoTemplate;
     }
     
     @Override
@@ -31,6 +37,13 @@ public class TeacherRepositoryImpl implements TeacherRepository {
         return mongoRepository.save(teacher);
     }
     
+    @Override
+    public boolean replacePassword(String username, String expectedPassword, String newPassword) {
+        Query query = new Query(Criteria.where("_id").is(username).and("password").is(expectedPassword));
+        return mongoTemplate.updateFirst(query, Update.update("password", newPassword), Teacher.class)
+                .getModifiedCount() > 0;
+    }
+    
     @Override
     public void deleteByUsername(String username) {
         mongoRepository.deleteById(username);
@@ -0,0 +1,101 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Picks Argon2id cost parameters for the current machine. Starting from the configured
+ * floor, memory is doubled while a verification stays within half of the target time,
+ * then iterations are added while it stays within the target. The floor is kept even
+ * when it is slower than the target, so weak hardware never weakens the hashes.
+ */
+public class Argon2Calibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(Argon2Calibrator.class);
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int PARALLELISM = 1;
+    private static final int SAMPLES = 3;
+
+    private final Duration target;
+    private final int minMemoryKib;
+    private final int maxMemoryKib;
+    private final int minIterations;
+    private final int maxIterations;
+    private final ToLongFunction<Parameters> verificationNanos;
+
+    public Argon2Calibrator(Duration target, int minMemoryKib, int maxMemoryKib, int minIterations,
+            int maxIterations) {
+        this(target, minMemoryKib, maxMemoryKib, minIterations, maxIterations, Argon2Calibrator::measure);
+    }
+
+    Argon2Calibrator(Duration target, int minMemoryKib, int maxMemoryKib, int minIterations, int maxIterations,
+            ToLongFunction<Parameters> verificationNanos) {
+        if (target.isNegative() || minMemoryKib < 8 || maxMemoryKib < minMemoryKib || minIterations < 1
+                || maxIterations < minIterations) {
+            throw new IllegalArgumentException("Configuração da calibração do Argon2 inválida");
+        }
+        this.target = target;
+        this.minMemoryKib = minMemoryKib;
+        this.maxMemoryKib = maxMemoryKib;
+        this.minIterations = minIterations;
+        this.maxIterations = maxIterations;
+        this.verificationNanos = verificationNanos;
+    }
+
+    /**
+     * The configured floor, used when calibration is disabled.
+     */
+    public Parameters floor() {
+        return new Parameters(minMemoryKib, minIterations);
+    }
+
+    public Parameters calibrate() {
+        long targetNanos = target.toNanos();
+        Parameters parameters = floor();
+        long nanos = verificationNanos.applyAsLong(parameters);
+
+        while (parameters.memoryKib() <= maxMemoryKib / 2 && nanos * 2 <= targetNanos) {
+            parameters = new Parameters(parameters.memoryKib() * 2, parameters.iterations());
+            nanos = verificationNanos.applyAsLong(parameters);
+        }
+        // Verification time grows roughly linearly with iterations
+        while (parameters.iterations() < maxIterations
+                && nanos / parameters.iterations() * (parameters.iterations() + 1) <= targetNanos) {
+            parameters = new Parameters(parameters.memoryKib(), parameters.iterations() + 1);
+            nanos = verificationNanos.applyAsLong(parameters);
+        }
+
+        logger.info("Argon2 calibrated to {} KiB and {} iterations: {} ms per verification (target {} ms)",
+                parameters.memoryKib(), parameters.iterations(), Duration.ofNanos(nanos).toMillis(),
+                target.toMillis());
+        return parameters;
+    }
+
+    // Median of a few verifications after a warm-up hash, so JIT and allocation noise do not skew it
+    private static long measure(Parameters parameters) {
+        Argon2PasswordEncoder encoder = parameters.encoder();
+        String hash = encoder.encode("calibração");
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches("calibração", hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    public record Parameters(int memoryKib, int iterations) {
+
+        public Argon2PasswordEncoder encoder() {
+            return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, PARALLELISM, memoryKib, iterations);
+        }
+    }
+}
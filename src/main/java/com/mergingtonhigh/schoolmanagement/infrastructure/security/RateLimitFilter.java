@@ -0,0 +1,194 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles login and registration requests with token buckets per client IP and per
+ * username, before they reach Argon2 or Mongo. The username is the one being logged in
+ * as, or the session token's teacher for registrations, so it must run after
+ * {@link SessionTokenFilter}. The IP bucket is checked first and only requests that
+ * pass it reach a username bucket, because the login username is chosen by the client:
+ * one address cannot create username buckets faster than its own limit allows.
+ *
+ * <p>Rejected requests are answered 429 with {@code Retry-After} and counted in
+ * {@code ratelimit.rejected}, tagged by route and key; buckets replaced because
+ * {@code rate-limit.max-keys} was reached are counted in {@code ratelimit.evictions}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String DETAIL = "Muitas requisições. Tente novamente em instantes.";
+
+    private final Map<Route, RouteLimiters> limiters = new EnumMap<>(Route.class);
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this(properties, meterRegistry, objectMapper, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            LongSupplier nanoTime) {
+        this.objectMapper = objectMapper;
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Route route : Route.values()) {
+            RateLimitProperties.RouteLimits limits = properties.routes().get(route.configName);
+            if (limits != null) {
+                limiters.put(route, new RouteLimiters(
+                        limiter(route, "ip", limits.perIp(), properties, meterRegistry, nanoTime),
+                        limiter(route, "user", limits.perUser(), properties, meterRegistry, nanoTime)));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = Route.of(request);
+        RouteLimiters routeLimiters = route != null ? limiters.get(route) : null;
+        if (routeLimiters == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!allowed(routeLimiters.perIp(), request.getRemoteAddr(), request, response)) {
+            return;
+        }
+        String username = route.username(request);
+        if (username != null && !allowed(routeLimiters.perUser(), username.toLowerCase(Locale.ROOT), request,
+                response)) {
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean allowed(Limiter limiter, String client, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (limiter == null) {
+            return true;
+        }
+        Duration wait = limiter.buckets().tryAcquire(client);
+        if (wait.isZero()) {
+            return true;
+        }
+        reject(limiter, wait, request, response);
+        return false;
+    }
+
+    private Limiter limiter(Route route, String key, RateLimitProperties.Limit limit, RateLimitProperties properties,
+            MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (limit == null) {
+            return null;
+        }
+        if (limit.refillInterval() == null || properties.idleEviction() == null) {
+            throw new IllegalArgumentException("Configuração do limite de requisições inválida");
+        }
+        TokenBucketRateLimiter buckets = new TokenBucketRateLimiter(limit.capacity(), limit.refillInterval(),
+                properties.maxKeys(), properties.idleEviction(), nanoTime);
+        Gauge.builder("ratelimit.keys", buckets, TokenBucketRateLimiter::size)
+                .description("Clients with a live token bucket")
+                .tags("route", route.configName, "key", key)
+                .register(meterRegistry);
+        FunctionCounter.builder("ratelimit.evictions", buckets, TokenBucketRateLimiter::forcedEvictions)
+                .description("Token buckets dropped before going idle because the limiter was full")
+                .tags("route", route.configName, "key", key)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("ratelimit.rejected")
+                .description("Requests answered 429 by the rate limiter")
+                .tags("route", route.configName, "key", key)
+                .register(meterRegistry);
+        return new Limiter(route, key, buckets, rejected);
+    }
+
+    private void reject(Limiter limiter, Duration retryAfter, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        limiter.rejected().increment();
+        logger.debug("Throttled {} request by {} from {}", limiter.route().configName, limiter.key(),
+                request.getRemoteAddr());
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, DETAIL);
+        problem.setTitle("Too Many Requests");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Retry-After is in whole seconds, rounded up so clients never retry early
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfter.toMillis() + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    /**
+     * Endpoints that can be throttled, named as in {@code rate-limit.routes}.
+     */
+    public enum Route {
+        LOGIN("login"),
+        REGISTRATION("registration");
+
+        private final String configName;
+
+        Route(String configName) {
+            this.configName = configName;
+        }
+
+        static Route of(HttpServletRequest request) {
+            if (!"POST".equals(request.getMethod())) {
+                return null;
+            }
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            if (path.equals("/auth/login")) {
+                return LOGIN;
+            }
+            if (path.startsWith("/activities/") && (path.endsWith("/signup") || path.endsWith("/signup/batch")
+                    || path.endsWith("/unregister"))) {
+                return REGISTRATION;
+            }
+            return null;
+        }
+
+        String username(HttpServletRequest request) {
+            if (this == LOGIN) {
+                String username = request.getParameter("username");
+                return username != null && !username.isBlank() ? username.trim() : null;
+            }
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authentication != null && authentication.getPrincipal() instanceof AuthenticatedTeacher teacher
+                    ? teacher.username()
+                    : null;
+        }
+    }
+
+    private record RouteLimiters(Limiter perIp, Limiter perUser) {
+    }
+
+    private record Limiter(Route route, String key, TokenBucketRateLimiter buckets, Counter rejected) {
+    }
+}
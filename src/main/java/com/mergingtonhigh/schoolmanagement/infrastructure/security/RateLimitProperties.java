@@ -0,0 +1,33 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Request throttling settings under {@code rate-limit.*}. Each entry of {@code routes}
+ * is keyed by a {@link RateLimitFilter.Route} name and may limit per client IP, per
+ * username, or both; a route or key without an entry is not limited.
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxKeys,
+        @DefaultValue("PT10M") Duration idleEviction,
+        Map<String, RouteLimits> routes) {
+
+    public RateLimitProperties {
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    public record RouteLimits(Limit perIp, Limit perUser) {
+    }
+
+    /**
+     * Allows bursts of {@code capacity} requests, refilled one every {@code refillInterval}.
+     */
+    public record Limit(int capacity, Duration refillInterval) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by client, each holding {@code capacity} tokens and regaining one
+ * every {@code refillInterval}. A bucket is a single {@link AtomicLong} with the instant
+ * it will be full again (the GCRA form of a token bucket), so taking a token is one
+ * compare-and-set and no lock is ever held.
+ *
+ * <p>A bucket that has stayed full for {@code idleEviction} behaves exactly like a new
+ * one and is dropped by a sweep that runs at most once per that interval. Once
+ * {@code maxKeys} buckets are live, a new key replaces the bucket that will be full
+ * soonest, which has the least throttling left. A flood of made-up keys therefore
+ * neither throttles unrelated clients nor frees a key that is being hammered from its
+ * limit. Finding that bucket scans the live ones, which is only paid while the limiter
+ * is full, and each replacement is counted in {@link #forcedEvictions()}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long refillNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final long idleNanos;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+    private final LongAdder forcedEvictions = new LongAdder();
+
+    public TokenBucketRateLimiter(int capacity, Duration refillInterval, int maxKeys, Duration idleEviction) {
+        this(capacity, refillInterval, maxKeys, idleEviction, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillInterval, int maxKeys, Duration idleEviction,
+            LongSupplier nanoTime) {
+        if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero() || maxKeys < 1
+                || idleEviction.isNegative() || idleEviction.isZero()) {
+            throw new IllegalArgumentException("Configuração do limite de requisições inválida");
+        }
+        this.refillNanos = refillInterval.toNanos();
+        this.burstNanos = Math.multiplyExact(refillNanos, (long) capacity);
+        this.maxKeys = maxKeys;
+        this.idleNanos = idleEviction.toNanos();
+        this.nanoTime = nanoTime;
+        this.lastSweep = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns {@link Duration#ZERO} when the request
+     * may proceed, otherwise how long until the bucket has a token again.
+     */
+    public Duration tryAcquire(String key) {
+        long now = nanoTime.getAsLong();
+        sweepIfDue(now);
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            // nanoTime may wrap, so instants are only ever compared by subtraction
+            long next = (fullAt - now > 0 ? fullAt : now) + refillNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Buckets dropped before they were idle to make room for a new key.
+     */
+    public long forcedEvictions() {
+        return forcedEvictions.sum();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweep(now);
+            if (buckets.size() >= maxKeys) {
+                evictSoonestFull(now);
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Concurrent new keys may each evict one bucket, so the map can briefly hold a few more than maxKeys
+    private void evictSoonestFull(long now) {
+        Map.Entry<String, AtomicLong> soonest = null;
+        long soonestRemaining = Long.MAX_VALUE;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            long remaining = entry.getValue().get() - now;
+            if (soonest == null || remaining < soonestRemaining) {
+                soonest = entry;
+                soonestRemaining = remaining;
+            }
+        }
+        if (soonest != null && buckets.remove(soonest.getKey(), soonest.getValue())) {
+            forcedEvictions.increment();
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= idleNanos && lastSweep.compareAndSet(last, now)) {
+            sweep(now);
+        }
+    }
+
+    // A request racing with the removal spends a token from the dropped bucket, which was full anyway
+    private void sweep(long now) {
+        buckets.values().removeIf(bucket -> now - bucket.get() >= idleNanos);
+    }
+}
@@ -1,76 +1,290 @@
 package com.mergingtonhigh.schoolmanagement.presentation.controllers;
 
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityPageDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupRequestDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.FreeSlotDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.RegistrationResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.WaitlistPositionDTO;
+import com.mergingtonhigh.schoolmanagement.application.idempotency.IdempotencyStore;
+import com.mergingtonhigh.schoolmanagement.application.streaming.SeatCountHub;
 import com.mergingtonhigh.schoolmanagement.application.usecases.ActivityUseCase;
 import com.mergingtonhigh.schoolmanagement.application.usecases.StudentRegistrationUseCase;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
 
 @RestController
 @RequestMapping("/activities")
 public class ActivityController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String VIEW_FULL = "full";
+    static final String VIEW_SUMMARY = "summary";
+    static final String MATCH_CONTAINED = "contained";
+    static final String SEAT_COUNT_EVENT = "seats";
+
+    // Built from the type factory rather than TypeReference subclasses, which would add
+    // anonymous classes to this package
+    private static final JavaType REGISTRATION_RESPONSE = TypeFactory.defaultInstance()
+            .constructType(RegistrationResultDTO.class);
+    private static final JavaType BATCH_RESPONSE = TypeFactory.defaultInstance()
+            .constructType(BatchSignupResultDTO.class);
+
     private final ActivityUseCase activityUseCase;
     private final StudentRegistrationUseCase studentRegistrationUseCase;
+    private final IdempotencyStore idempotencyStore;
+    private final SeatCountHub seatCountHub;
+    private final Duration streamTimeout;
+    private final ObjectWriter jsonWriter;
 
     public ActivityController(ActivityUseCase activityUseCase,
-            StudentRegistrationUseCase studentRegistrationUseCase) {
+            StudentRegistrationUseCase studentRegistrationUseCase,
+            IdempotencyStore idempotencyStore,
+            SeatCountHub seatCountHub,
+            @Value("${activity.stream.timeout:PT30M}") Duration streamTimeout,
+            ObjectMapper objectMapper) {
         this.activityUseCase = activityUseCase;
         this.studentRegistrationUseCase = studentRegistrationUseCase;
+        this.idempotencyStore = idempotencyStore;
+        this.seatCountHub = seatCountHub;
+        this.streamTimeout = streamTimeout;
+        // The generator flushes as its buffer fills; flushing after every entry would mean a write per activity
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
+    /**
+     * Catalog responses are written entry by entry straight to the response stream
+     * instead of being collected into a map first, so memory per request stays flat
+     * as the catalog grows. The JSON is the same object keyed by activity name.
+     */
     @GetMapping
-    public ResponseEntity<Map<String, ActivityDTO>> getActivities(
+    public ResponseEntity<StreamingResponseBody> getActivities(
             @RequestParam(required = false) String day,
             @RequestParam(name = "start_time", required = false) String startTime,
             @RequestParam(name = "end_time", required = false) String endTime,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String match,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (!VIEW_FULL.equals(view) && !VIEW_SUMMARY.equals(view)) {
+            throw new ValidationException("Visualização inválida: " + view);
+        }
+
+        // Pages are read from Mongo, not the catalog snapshot, so they carry no catalog ETag
+        if (limit != null || cursor != null || sort != null) {
+            if (VIEW_SUMMARY.equals(view)) {
+                throw new ValidationException("Paginação não suporta view=summary");
+            }
+            if (match != null && !MATCH_CONTAINED.equals(match)) {
+                throw new ValidationException("Paginação suporta apenas match=" + MATCH_CONTAINED);
+            }
+            ActivityPageDTO page = activityUseCase.getActivityPage(day, startTime, endTime, category, sort, cursor,
+                    limit);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> jsonWriter.writeValue(outputStream, page));
+        }
 
-        Map<String, ActivityDTO> activities = activityUseCase.getActivities(day, startTime, endTime, category);
-        return ResponseEntity.ok(activities);
+        String etag = catalogETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        if (VIEW_SUMMARY.equals(view)) {
+            Stream<ActivitySummaryDTO> summaries = activityUseCase.streamActivitySummaries(day, startTime, endTime,
+                    category, match);
+            return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                    .body(jsonObjectOf(summaries, ActivitySummaryDTO::name));
+        }
+        Stream<ActivityDTO> activities = activityUseCase.streamActivities(day, startTime, endTime, category, match);
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                .body(jsonObjectOf(activities, ActivityDTO::name));
     }
 
     @GetMapping("/days")
-    public ResponseEntity<List<String>> getAvailableDays() {
+    public ResponseEntity<List<String>> getAvailableDays(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = catalogETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<String> days = activityUseCase.getAvailableDays();
-        return ResponseEntity.ok(days);
+        return ResponseEntity.ok().eTag(etag).body(days);
+    }
+
+    /**
+     * Server-Sent Events stream of seat count changes. Clients are disconnected when
+     * they fall behind or the stream times out, and should reload on reconnect.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatCounts() {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        SeatCountHub.Subscription subscription = seatCountHub.subscribe(
+                seatCount -> emitter.send(SseEmitter.event().name(SEAT_COUNT_EVENT).data(seatCount)),
+                emitter::complete);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlotDTO>> getFreeSlots(
+            @RequestParam String day,
+            @RequestParam(name = "start_time") String startTime,
+            @RequestParam(name = "end_time") String endTime) {
+
+        List<FreeSlotDTO> freeSlots = activityUseCase.getFreeSlots(day, startTime, endTime);
+        return ResponseEntity.ok(freeSlots);
+    }
+
+    @GetMapping("/{activityName}/waitlist/position")
+    public ResponseEntity<WaitlistPositionDTO> getWaitlistPosition(
+            @PathVariable String activityName,
+            @RequestParam String email) {
+
+        WaitlistPositionDTO position = studentRegistrationUseCase.getWaitlistPosition(activityName, email);
+        return ResponseEntity.ok(position);
     }
 
     @PostMapping("/{activityName}/signup")
-    public ResponseEntity<Map<String, String>> signupForActivity(
+    public ResponseEntity<RegistrationResultDTO> signupForActivity(
             @PathVariable String activityName,
             @RequestParam String email,
-            @RequestParam(name = "teacher_username", required = false) String teacherUsername) {
+            @AuthenticationPrincipal AuthenticatedTeacher teacher,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        if (teacherUsername == null || teacherUsername.trim().isEmpty()) {
-            throw new AuthenticationException("Autenticação necessária para esta ação");
-        }
+        requireAuthenticated(teacher);
+        RegistrationResultDTO response = idempotent(idempotencyKey,
+                fingerprint("signup", activityName, email, teacher), REGISTRATION_RESPONSE,
+                () -> studentRegistrationUseCase.signupForActivity(activityName, email, teacher));
+        return ResponseEntity.ok(response);
+    }
 
-        String message = studentRegistrationUseCase.signupForActivity(activityName, email, teacherUsername);
-        return ResponseEntity.ok(Map.of("message", message));
+    @PostMapping("/{activityName}/signup/batch")
+    public ResponseEntity<BatchSignupResultDTO> signupBatchForActivity(
+            @PathVariable String activityName,
+            @RequestBody BatchSignupRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedTeacher teacher,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        requireAuthenticated(teacher);
+        BatchSignupResultDTO result = idempotent(idempotencyKey,
+                fingerprint("signup/batch", activityName, String.valueOf(request.emails()), teacher),
+                BATCH_RESPONSE,
+                () -> studentRegistrationUseCase.signupBatchForActivity(
+                        activityName, request.emails(), teacher));
+        return ResponseEntity.ok(result);
     }
 
     @PostMapping("/{activityName}/unregister")
-    public ResponseEntity<Map<String, String>> unregisterFromActivity(
+    public ResponseEntity<RegistrationResultDTO> unregisterFromActivity(
             @PathVariable String activityName,
             @RequestParam String email,
-            @RequestParam(name = "teacher_username", required = false) String teacherUsername) {
+            @AuthenticationPrincipal AuthenticatedTeacher teacher,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        if (teacherUsername == null || teacherUsername.trim().isEmpty()) {
-            throw new AuthenticationException("Autenticação necessária para esta ação");
+        requireAuthenticated(teacher);
+        RegistrationResultDTO response = idempotent(idempotencyKey,
+                fingerprint("unregister", activityName, email, teacher), REGISTRATION_RESPONSE,
+                () -> studentRegistrationUseCase.unregisterFromActivity(activityName, email, teacher));
+        return ResponseEntity.ok(response);
+    }
+
+    private String catalogETag() {
+        return "\"" + activityUseCase.getCatalogVersionTag() + "\"";
+    }
+
+    // Writes {"<name>": <value>, ...} one entry at a time, flushing only as the generator's buffer fills
+    private <T> StreamingResponseBody jsonObjectOf(Stream<T> values, Function<T, String> name) {
+        return outputStream -> {
+            try (Stream<T> entries = values;
+                    JsonGenerator generator = jsonWriter.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                Iterator<T> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    T value = iterator.next();
+                    generator.writeFieldName(name.apply(value));
+                    jsonWriter.writeValue(generator, value);
+                }
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix on the client's tag still matches
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T idempotent(String idempotencyKey, String fingerprint, JavaType responseType,
+            Supplier<T> mutation) {
+        if (idempotencyKey == null) {
+            return mutation.get();
         }
+        return idempotencyStore.execute(idempotencyKey, fingerprint, responseType, mutation);
+    }
+
+    private String fingerprint(String action, String activityName, String subject, AuthenticatedTeacher teacher) {
+        return String.join("\n", action, activityName, subject, teacher.username());
+    }
 
-        String message = studentRegistrationUseCase.unregisterFromActivity(activityName, email, teacherUsername);
-        return ResponseEntity.ok(Map.of("message", message));
+    // The principal comes from the session token filter and is absent without a valid token
+    private void requireAuthenticated(AuthenticatedTeacher teacher) {
+        if (teacher == null) {
+            throw new AuthenticationException("Autenticação necessária para esta ação");
+        }
     }
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.mergingtonhigh.schoolmanagement.presentation.controllers;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mergingtonhigh.schoolmanagement.application.dtos.SessionDTO;
 import com.mergingtonhigh.schoolmanagement.application.dtos.TeacherDTO;
 import com.mergingtonhigh.schoolmanagement.application.usecases.AuthenticationUseCase;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,31 +35,33 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Authenticate teacher", description = "Authenticate a teacher with username and password")
+    @Operation(summary = "Authenticate teacher",
+            description = "Authenticate a teacher with username and password and issue a signed session token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Authentication successful",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TeacherDTO.class))),
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionDTO.class))),
         @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry after the Retry-After delay",
                 content = @Content(mediaType = "application/json"))
     })
-    public ResponseEntity<TeacherDTO> login(
+    public CompletableFuture<ResponseEntity<SessionDTO>> login(
             @Parameter(description = "Teacher username", required = true) @RequestParam String username, 
             @Parameter(description = "Teacher password", required = true) @RequestParam String password) {
-        TeacherDTO teacher = authenticationUseCase.login(username, password);
-        return ResponseEntity.ok(teacher);
+        return authenticationUseCase.login(username, password).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/check-session")
-    @Operation(summary = "Check session", description = "Validate if a teacher session is still active")
+    @Operation(summary = "Check session",
+            description = "Validate the bearer session token sent in the Authorization header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Session is valid",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = TeacherDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Teacher not found",
+        @ApiResponse(responseCode = "401", description = "Missing, invalid or expired session token",
                 content = @Content(mediaType = "application/json"))
     })
-    public ResponseEntity<TeacherDTO> checkSession(
-            @Parameter(description = "Teacher username", required = true) @RequestParam String username) {
-        TeacherDTO teacher = authenticationUseCase.checkSession(username);
+    public ResponseEntity<TeacherDTO> checkSession(@AuthenticationPrincipal AuthenticatedTeacher principal) {
+        TeacherDTO teacher = authenticationUseCase.checkSession(principal);
         return ResponseEntity.ok(teacher);
     }
 }
\ No newline at end of file
@@ -2,14 +2,18 @@ package com.mergingtonhigh.schoolmanagement.presentation.controllers;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthorizationException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ConflictException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ServiceUnavailableException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
 
 @RestControllerAdvice
@@ -44,6 +48,28 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ProblemDetail handleConflict(ConflictException ex) {
+        logger.warn("Write conflict: {}", ex.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT, ex.getMessage());
+        problem.setTitle("Concurrent Modification");
+        return problem;
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailable(ServiceUnavailableException ex) {
+        logger.warn("Request shed: {}", ex.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problem.setTitle("Service Unavailable");
+        // Retry-After is in whole seconds, rounded up so clients never retry early
+        long retryAfterSeconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(problem);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ProblemDetail handleValidation(ValidationException ex) {
         logger.debug("Validation failed: {}", ex.getMessage());
@@ -0,0 +1,29 @@
+package com.mergingtonhigh.schoolmanagement.presentation.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.usecases.ActivityUseCase;
+
+@RestController
+@RequestMapping("/students")
+public class StudentController {
+
+    private final ActivityUseCase activityUseCase;
+
+    public StudentController(ActivityUseCase activityUseCase) {
+        this.activityUseCase = activityUseCase;
+    }
+
+    @GetMapping("/{email}/activities")
+    public ResponseEntity<List<ActivitySummaryDTO>> getStudentActivities(@PathVariable String email) {
+        List<ActivitySummaryDTO> activities = activityUseCase.getActivitiesForStudent(email);
+        return ResponseEntity.ok(activities);
+    }
+}
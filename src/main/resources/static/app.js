@@ -31,6 +31,8 @@ document.addEventListener("DOMContentLoaded", () => {
 
   // State for activities and filters
   let allActivities = {};
+  // Last response per activities URL, revalidated with If-None-Match
+  const activitiesCache = {};
   let currentFilter = "all";
   let searchQuery = "";
   let currentDay = "";
@@ -185,9 +187,14 @@ document.addEventListener("DOMContentLoaded", () => {
     if (savedUser) {
       try {
         currentUser = JSON.parse(savedUser);
+        if (!currentUser.token) {
+          // Saved before session tokens existed
+          logout();
+          return;
+        }
         updateAuthUI();
-        // Verify the stored user with the server
-        validateUserSession(currentUser.username);
+        // Verify the stored token with the server
+        validateUserSession();
       } catch (error) {
         console.error("Error parsing saved user", error);
         logout(); // Clear invalid data
@@ -199,11 +206,11 @@ document.addEventListener("DOMContentLoaded", () => {
   }
 
   // Validate user session with the server
-  async function validateUserSession(username) {
+  async function validateUserSession() {
     try {
-      const response = await fetch(
-        `/auth/check-session?username=${encodeURIComponent(username)}`
-      );
+      const response = await fetch("/auth/check-session", {
+        headers: authHeaders(),
+      });
 
       if (!response.ok) {
         // Session invalid, log out
@@ -213,14 +220,21 @@ document.addEventListener("DOMContentLoaded", () => {
 
       // Session is valid, update user data
       const userData = await response.json();
-      currentUser = userData;
-      localStorage.setItem("currentUser", JSON.stringify(userData));
+      currentUser = { ...userData, token: currentUser.token, expiresAt: currentUser.expiresAt };
+      localStorage.setItem("currentUser", JSON.stringify(currentUser));
       updateAuthUI();
     } catch (error) {
       console.error("Error validating session:", error);
     }
   }
 
+  // Authorization header carrying the session token issued at login
+  function authHeaders() {
+    return currentUser && currentUser.token
+      ? { Authorization: `Bearer ${currentUser.token}` }
+      : {};
+  }
+
   // Update UI based on authentication state
   function updateAuthUI() {
     if (currentUser) {
@@ -431,8 +445,24 @@ document.addEventListener("DOMContentLoaded", () => {
 
       const queryString =
         queryParams.length > 0 ? `?${queryParams.join("&")}` : "";
-      const response = await fetch(`/activities${queryString}`);
-      const activities = await response.json();
+      const url = `/activities${queryString}`;
+      const cached = activitiesCache[url];
+      const response = await fetch(url, {
+        cache: "no-store",
+        headers: cached ? { "If-None-Match": cached.etag } : {},
+      });
+
+      let activities;
+      if (response.status === 304 && cached) {
+        // Catalog unchanged since the last load of this filter
+        activities = cached.data;
+      } else {
+        activities = await response.json();
+        const etag = response.headers.get("ETag");
+        if (response.ok && etag) {
+          activitiesCache[url] = { etag, data: activities };
+        }
+      }
 
       // Save the activities data
       allActivities = activities;
@@ -549,13 +579,19 @@ document.addEventListener("DOMContentLoaded", () => {
 
   // Function to render a single activity card
   function renderActivityCard(name, details) {
+    activitiesList.appendChild(createActivityCard(name, details));
+  }
+
+  // Function to build the card element for an activity
+  function createActivityCard(name, details) {
     const activityCard = document.createElement("div");
     activityCard.className = "activity-card";
+    activityCard.dataset.activityCard = name;
 
     // Calculate spots and capacity
     const totalSpots = details.maxParticipants;
     const takenSpots = details.participants ? details.participants.length : 0;
-    const currentCount = details.currentParticipantCount || takenSpots;
+    const currentCount = details.currentParticipantCount ?? takenSpots;
     const spotsLeft = totalSpots - currentCount;
     const capacityPercentage = (currentCount / totalSpots) * 100;
     const isFull = spotsLeft <= 0;
@@ -613,7 +649,7 @@ document.addEventListener("DOMContentLoaded", () => {
         </div>
         <div class="capacity-text">
           <span>${currentCount} inscritos</span>
-          <span>${spotsLeft} vagas restantes</span>
+          <span>${isFull && details.waitlistCount > 0 ? `${details.waitlistCount} na lista de espera` : `${spotsLeft} vagas restantes`}</span>
         </div>
       </div>
     `;
@@ -738,7 +774,47 @@ document.addEventListener("DOMContentLoaded", () => {
       }
     }
 
-    activitiesList.appendChild(activityCard);
+    return activityCard;
+  }
+
+  // Re-render one card in place after its details changed
+  function refreshActivityCard(name) {
+    const details = allActivities[name];
+    const existingCard = activitiesList.querySelector(
+      `[data-activity-card="${CSS.escape(name)}"]`
+    );
+    if (details && existingCard) {
+      existingCard.replaceWith(createActivityCard(name, details));
+    }
+  }
+
+  // Apply a seat count change pushed by the server
+  function applySeatCount(seatCount) {
+    const details = allActivities[seatCount.name];
+    if (!details) {
+      return;
+    }
+    details.currentParticipantCount = seatCount.currentParticipantCount;
+    refreshActivityCard(seatCount.name);
+  }
+
+  // Subscribe to live seat counts. The browser reconnects on its own; changes missed
+  // while disconnected are recovered by reloading the list.
+  function connectSeatCountStream() {
+    if (!window.EventSource) {
+      return;
+    }
+    const stream = new EventSource("/activities/stream");
+    let connectedBefore = false;
+    stream.addEventListener("open", () => {
+      if (connectedBefore) {
+        fetchActivities();
+      }
+      connectedBefore = true;
+    });
+    stream.addEventListener("seats", (event) => {
+      applySeatCount(JSON.parse(event.data));
+    });
   }
 
   // Event listeners for search and filter
@@ -927,9 +1003,10 @@ document.addEventListener("DOMContentLoaded", () => {
               activity
             )}/unregister?email=${encodeURIComponent(
               email
-            )}&teacher_username=${encodeURIComponent(currentUser.username)}`,
+            )}`,
             {
               method: "POST",
+              headers: authHeaders(),
             }
           );
 
@@ -937,8 +1014,28 @@ document.addEventListener("DOMContentLoaded", () => {
 
           if (response.ok) {
             showMessage(result.message, "success");
-            // Refresh the activities list
-            fetchActivities();
+            // Seat counts arrive through the stream; only the roster is patched here,
+            // including the waitlisted student promoted into the freed spot
+            const details = allActivities[activity];
+            if (details && details.participants) {
+              details.participants = details.participants.filter(
+                (participant) => participant !== email
+              );
+              if (
+                result.promotedEmail &&
+                !details.participants.includes(result.promotedEmail)
+              ) {
+                details.participants = [
+                  ...details.participants,
+                  result.promotedEmail,
+                ];
+                details.waitlistCount = Math.max(0, (details.waitlistCount || 0) - 1);
+              }
+              refreshActivityCard(activity);
+            }
+          } else if (response.status === 401) {
+            // Session token expired or was rejected
+            logout();
           } else {
             showMessage(result.detail || "Ocorreu um erro", "error");
           }
@@ -994,9 +1091,10 @@ document.addEventListener("DOMContentLoaded", () => {
           activity
         )}/signup?email=${encodeURIComponent(
           email
-        )}&teacher_username=${encodeURIComponent(currentUser.username)}`,
+        )}`,
         {
           method: "POST",
+          headers: authHeaders(),
         }
       );
 
@@ -1005,8 +1103,22 @@ document.addEventListener("DOMContentLoaded", () => {
       if (response.ok) {
         showMessage(result.message, "success");
         closeRegistrationModalHandler();
-        // Refresh the activities list after successful signup
-        fetchActivities();
+        // Seat counts arrive through the stream; only the roster is patched here, and
+        // waitlisted students are not part of it
+        const details = allActivities[activity];
+        if (
+          details &&
+          details.participants &&
+          !details.participants.includes(email) &&
+          result.status === "ADDED"
+        ) {
+          details.participants = [...details.participants, email];
+          refreshActivityCard(activity);
+        }
+      } else if (response.status === 401) {
+        // Session token expired or was rejected
+        closeRegistrationModalHandler();
+        logout();
       } else {
         showMessage(result.detail || "Ocorreu um erro", "error");
       }
@@ -1039,6 +1151,9 @@ document.addEventListener("DOMContentLoaded", () => {
       
       // Load and display activities
       await fetchActivities();
+
+      // Keep seat counts live from then on
+      connectSeatCountStream();
       
       console.log('App inicializado com categorias do backend');
     } catch (error) {
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class StaticAssetPipelineTest {
+
+    @Test
+    void shouldTreatSlashAfterOperandAsDivision() {
+        assertEquals("x=(a+b)/2/c", StaticAssetPipeline.minifyJs("x = (a + b) / 2 / c"));
+        assertEquals("y=items[0]/total", StaticAssetPipeline.minifyJs("y = items[0] / total"));
+        assertEquals("z=width/2", StaticAssetPipeline.minifyJs("z = width / 2"));
+        assertEquals("n=i++/2", StaticAssetPipeline.minifyJs("n = i++ / 2"));
+        assertEquals("r=\"10\"/2", StaticAssetPipeline.minifyJs("r = \"10\" / 2"));
+    }
+
+    @Test
+    void shouldTreatSlashWhereExpressionIsExpectedAsRegex() {
+        assertEquals("return/a b\\/c/g.test(s)", StaticAssetPipeline.minifyJs("return /a b\\/c/g.test(s)"));
+        assertEquals("if(typeof/ x /)", StaticAssetPipeline.minifyJs("if (typeof / x /)"));
+        assertEquals("s.replace(/[/ ]+/g,\"-\")", StaticAssetPipeline.minifyJs("s.replace(/[/ ]+/g, \"-\")"));
+        assertEquals("ok=!/ $/.test(v)", StaticAssetPipeline.minifyJs("ok = ! / $/.test(v)"));
+    }
+
+    @Test
+    void shouldCopyTemplateLiteralsWithNestedExpressionsVerbatim() {
+        String template = "`<li class=\"${ done ? 'a  b' : \"}\" }\">"
+                + "${ items.map(i => `  ${ i.name }  `).join('') }</li>`";
+
+        assertEquals("html=" + template, StaticAssetPipeline.minifyJs("html = " + template));
+        assertEquals("t=`a /* not a comment */ // b`",
+                StaticAssetPipeline.minifyJs("t = `a /* not a comment */ // b`"));
+    }
+
+    @Test
+    void shouldKeepSpaceBetweenRepeatedPlusOrMinus() {
+        assertEquals("a- -b", StaticAssetPipeline.minifyJs("a - -b"));
+        assertEquals("a+ +b", StaticAssetPipeline.minifyJs("a + +b"));
+        assertEquals("a-- -b", StaticAssetPipeline.minifyJs("a-- - b"));
+        assertEquals("a+ ++b", StaticAssetPipeline.minifyJs("a + ++b"));
+        assertEquals("a-+b", StaticAssetPipeline.minifyJs("a - +b"));
+    }
+
+    @Test
+    void shouldNotTreatDoubleSlashInStringsOrRegexesAsComment() {
+        assertEquals("u=\"http://example.com\"+'//x'",
+                StaticAssetPipeline.minifyJs("u = \"http://example.com\" + '//x'"));
+        assertEquals("p=/\\/\\/ x/.test(s)", StaticAssetPipeline.minifyJs("p = /\\/\\/ x/.test(s) // trailing"));
+        assertEquals("q=\"it\\\"s // here\"", StaticAssetPipeline.minifyJs("q = \"it\\\"s // here\""));
+    }
+
+    @Test
+    void shouldPreserveLineBreaksForAutomaticSemicolonInsertion() {
+        assertEquals("let a=b\n(c||d).run()", StaticAssetPipeline.minifyJs("let a = b\n(c || d).run()"));
+        assertEquals("return\nvalue", StaticAssetPipeline.minifyJs("  return\n\n    value"));
+        assertEquals("x=1\ny=2", StaticAssetPipeline.minifyJs("x = 1 // one\n// two\ny = 2"));
+        assertEquals("i\n++j", StaticAssetPipeline.minifyJs("i /* a\n b */ ++j"));
+        assertEquals("f(a,b)", StaticAssetPipeline.minifyJs("f(a, /* inline */ b)"));
+    }
+
+    @Test
+    void shouldKeepSpaceBeforeDescendantPseudoClassInCss() {
+        assertEquals(".card :hover{color:red}", StaticAssetPipeline.minifyCss(".card :hover {\n  color: red;\n}"));
+        assertEquals("a:hover,nav>a{x:1}", StaticAssetPipeline.minifyCss("a:hover ,\nnav > a { x: 1 }"));
+    }
+
+    @Test
+    void shouldStripCssCommentsButKeepStringsAndCalcSpacing() {
+        assertEquals("p{content:\"a  /* b */\";width:calc(100% - 2px)}",
+                StaticAssetPipeline.minifyCss(
+                        "/* head */\np {\n  content: \"a  /* b */\";\n  width: calc(100% - 2px);\n}"));
+        assertEquals("@media (max-width:600px){.a{margin:0 auto}}",
+                StaticAssetPipeline.minifyCss("@media (max-width: 600px) {\n  .a { margin: 0 auto; }\n}"));
+    }
+}
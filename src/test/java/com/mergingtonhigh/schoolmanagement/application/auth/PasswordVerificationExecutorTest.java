@@ -0,0 +1,97 @@
+package com.mergingtonhigh.schoolmanagement.application.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordVerificationExecutorTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordVerificationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordVerificationExecutor(passwordEncoder, meterRegistry, 1, 1, Duration.ofMillis(1500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldVerifyOnDedicatedThreadAndRecordLatency() {
+        when(passwordEncoder.matches("secret", "hash")).thenAnswer(
+                invocation -> Thread.currentThread().getName().startsWith("password-verifier-"));
+
+        assertEquals(new PasswordVerificationExecutor.Verification(true, null),
+                executor.verify("secret", "hash").join());
+        assertEquals(1, meterRegistry.timer("auth.password.verify").count());
+        assertEquals(1, meterRegistry.timer("auth.password.queue.wait").count());
+    }
+
+    @Test
+    void shouldRehashMatchingPasswordWithOutdatedParameters() {
+        when(passwordEncoder.matches("secret", "old")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new");
+        when(passwordEncoder.matches("wrong", "old")).thenReturn(false);
+
+        assertEquals(new PasswordVerificationExecutor.Verification(true, "new"),
+                executor.verify("secret", "old").join());
+        assertEquals(new PasswordVerificationExecutor.Verification(false, null),
+                executor.verify("wrong", "old").join());
+        assertEquals(1, meterRegistry.timer("auth.password.rehash").count());
+    }
+
+    @Test
+    void shouldShedVerificationsBeyondQueueCapacity() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        CompletableFuture<PasswordVerificationExecutor.Verification> running = executor.verify("a", "hash");
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<PasswordVerificationExecutor.Verification> queued = executor.verify("b", "hash");
+        CompletableFuture<PasswordVerificationExecutor.Verification> shed = executor.verify("c", "hash");
+
+        CompletionException failure = assertThrows(CompletionException.class, shed::join);
+        ServiceUnavailableException exception = assertInstanceOf(ServiceUnavailableException.class,
+                failure.getCause());
+        assertEquals(Duration.ofMillis(1500), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.counter("auth.password.rejected").count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).matches());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).matches());
+    }
+}
@@ -0,0 +1,72 @@
+package com.mergingtonhigh.schoolmanagement.application.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.mergingtonhigh.schoolmanagement.application.auth.SessionTokenService.IssuedToken;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+
+class SessionTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+
+    private final AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Prof. Ana. Souza",
+            Teacher.Role.ADMIN);
+
+    @Test
+    void shouldVerifyIssuedTokenUntilItExpires() {
+        IssuedToken issued = serviceAt(NOW).issue(teacher);
+
+        assertEquals(NOW.plus(Duration.ofHours(8)), issued.expiresAt());
+        assertEquals(Optional.of(teacher), serviceAt(NOW.plus(Duration.ofHours(7))).verify(issued.token()));
+        assertTrue(serviceAt(NOW.plus(Duration.ofHours(8))).verify(issued.token()).isEmpty());
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = serviceAt(NOW).issue(new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER))
+                .token();
+        String promoted = token.replace("." + Teacher.Role.TEACHER.name() + ".", "." + Teacher.Role.ADMIN.name() + ".");
+
+        assertTrue(serviceAt(NOW).verify(promoted).isEmpty());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherSecret() {
+        String token = new SessionTokenService("fedcba9876543210fedcba9876543210", Duration.ofHours(8),
+                Clock.fixed(NOW, ZoneOffset.UTC)).issue(teacher).token();
+
+        assertTrue(serviceAt(NOW).verify(token).isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        SessionTokenService service = serviceAt(NOW);
+
+        assertTrue(service.verify(null).isEmpty());
+        assertTrue(service.verify("").isEmpty());
+        assertTrue(service.verify("not-a-token").isEmpty());
+        assertTrue(service.verify("v1.a.b.ADMIN.1.%%%").isEmpty());
+    }
+
+    @Test
+    void shouldRejectShortSecret() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SessionTokenService("short", Duration.ofHours(8)));
+    }
+
+    private SessionTokenService serviceAt(Instant now) {
+        return new SessionTokenService(SECRET, Duration.ofHours(8), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
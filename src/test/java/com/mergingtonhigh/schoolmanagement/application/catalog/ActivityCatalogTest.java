@@ -0,0 +1,237 @@
+package com.mergingtonhigh.schoolmanagement.application.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mergingtonhigh.schoolmanagement.application.mappers.ActivityMapper;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+import com.mergingtonhigh.schoolmanagement.domain.events.ActivityChangedEvent;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityCatalogTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-15T10:00:00Z"));
+    private ActivityCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ActivityCatalog(activityRepository, new ActivityMapper(), Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void shouldLoadOnceAndServeSameSnapshotWhileFresh() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")));
+
+        CatalogSnapshot first = catalog.current();
+        clock.advance(Duration.ofMinutes(4));
+        CatalogSnapshot second = catalog.current();
+
+        assertSame(first, second);
+        assertEquals(1, first.version());
+        verify(activityRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldReloadWhenOlderThanMaxStaleness() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")),
+                List.of(activity("Chess Club", "Friday")));
+
+        catalog.current();
+        clock.advance(Duration.ofMinutes(6));
+        CatalogSnapshot reloaded = catalog.current();
+
+        assertEquals(2, reloaded.version());
+        assertEquals(List.of("Friday"), reloaded.days());
+        verify(activityRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldKeepVersionWhenReloadFindsNothingChanged() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")));
+
+        CatalogSnapshot first = catalog.current();
+        clock.advance(Duration.ofMinutes(6));
+        CatalogSnapshot reloaded = catalog.current();
+
+        assertEquals(first.version(), reloaded.version());
+        assertEquals(clock.instant(), reloaded.refreshedAt());
+        verify(activityRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldSwapInChangedActivityOnWrite() {
+        Activity chess = activity("Chess Club", "Monday");
+        when(activityRepository.findAll()).thenReturn(List.of(chess));
+        CatalogSnapshot before = catalog.current();
+
+        Activity updated = activity("Chess Club", "Friday");
+        updated.addParticipant(new Email("student@mergington.edu"));
+        catalog.onActivityChanged(ActivityChangedEvent.written(updated));
+        CatalogSnapshot after = catalog.current();
+
+        assertEquals(before.version() + 1, after.version());
+        assertEquals(1, after.activities().get("Chess Club").currentParticipantCount());
+        assertEquals(11, after.summaries().get("Chess Club").remainingSpots());
+        assertEquals(List.of("Friday"), after.days());
+        assertEquals(0, before.activities().get("Chess Club").currentParticipantCount());
+        verify(activityRepository, times(1)).findAll();
+        verify(activityRepository, never()).findByName("Chess Club");
+    }
+
+    @Test
+    void shouldIgnoreWriteOlderThanTheOneAlreadyApplied() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday", 1L)));
+        catalog.current();
+
+        catalog.onActivityChanged(ActivityChangedEvent.written(activity("Chess Club", "Friday", 3L)));
+        CatalogSnapshot applied = catalog.current();
+        catalog.onActivityChanged(ActivityChangedEvent.written(activity("Chess Club", "Tuesday", 2L)));
+
+        assertSame(applied, catalog.current());
+        assertEquals(List.of("Friday"), catalog.current().days());
+    }
+
+    @Test
+    void shouldKeepWriteThatLandedWhileReloadWasReading() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday", 1L)));
+        catalog.current();
+        clock.advance(Duration.ofMinutes(6));
+
+        // The reload's read returned the activity as it was before the concurrent write
+        when(activityRepository.findAll()).thenAnswer(invocation -> {
+            catalog.onActivityChanged(ActivityChangedEvent.written(activity("Chess Club", "Friday", 2L)));
+            return List.of(activity("Chess Club", "Monday", 1L));
+        });
+        CatalogSnapshot reloaded = catalog.current();
+
+        assertEquals(List.of("Friday"), reloaded.days());
+    }
+
+    @Test
+    void shouldDropDeletedActivityOnWrite() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday"),
+                activity("Art Club", "Tuesday")));
+        catalog.current();
+
+        catalog.onActivityChanged(ActivityChangedEvent.deleted("Art Club"));
+
+        CatalogSnapshot after = catalog.current();
+        assertFalse(after.activities().containsKey("Art Club"));
+        assertFalse(after.summaries().containsKey("Art Club"));
+        assertEquals(List.of("Monday"), after.days());
+    }
+
+    @Test
+    void shouldIgnoreWritesBeforeFirstLoad() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")));
+
+        catalog.onActivityChanged(ActivityChangedEvent.written(activity("Chess Club", "Friday")));
+
+        assertEquals(List.of("Monday"), catalog.current().days());
+    }
+
+    @Test
+    void shouldForceReloadOnRefresh() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")),
+                List.of(activity("Chess Club", "Friday")));
+
+        catalog.current();
+        CatalogSnapshot refreshed = catalog.refresh();
+
+        assertEquals(2, refreshed.version());
+        assertEquals(List.of("Friday"), refreshed.days());
+        verify(activityRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldChangeVersionTagOnlyWhenSnapshotChanges() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")));
+
+        String first = catalog.currentVersionTag();
+        String unchanged = catalog.currentVersionTag();
+        catalog.onActivityChanged(ActivityChangedEvent.written(activity("Chess Club", "Friday")));
+        String changed = catalog.currentVersionTag();
+
+        assertEquals(first, unchanged);
+        assertNotEquals(first, changed);
+        assertNotEquals(first, new ActivityCatalog(activityRepository, new ActivityMapper(), Duration.ofMinutes(5),
+                clock).currentVersionTag());
+    }
+
+    @Test
+    void shouldExposeImmutableSnapshot() {
+        when(activityRepository.findAll()).thenReturn(List.of(activity("Chess Club", "Monday")));
+
+        CatalogSnapshot snapshot = catalog.current();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.activities().remove("Chess Club"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.days().add("Sunday"));
+    }
+
+    private Activity activity(String name, String day) {
+        return new Activity(name, "Descrição", new ScheduleDetails(List.of(day), LocalTime.of(15, 30),
+                LocalTime.of(17, 0)), 12, ActivityCategory.ACADEMIC);
+    }
+
+    private Activity activity(String name, String day, Long version) {
+        Activity activity = activity(name, day);
+        activity.setVersion(version);
+        return activity;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
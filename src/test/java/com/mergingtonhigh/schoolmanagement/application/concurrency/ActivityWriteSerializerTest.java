@@ -0,0 +1,186 @@
+package com.mergingtonhigh.schoolmanagement.application.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer.SignupBatchHandler;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActivityWriteSerializerTest {
+
+    private final AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityWriteSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serializer = new ActivityWriteSerializer(10, 4, false, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializer.shutdown();
+    }
+
+    @Test
+    void shouldNeverRunTwoWritesForSameActivityConcurrently() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> serializer.execute("Chess Club", () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return active.decrementAndGet();
+            })));
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    void shouldKeepDifferentActivitiesParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> chess = CompletableFuture.supplyAsync(() -> serializer.execute("Chess Club",
+                () -> awaitLatch(bothRunning)));
+        CompletableFuture<Boolean> art = CompletableFuture.supplyAsync(() -> serializer.execute("Art Club",
+                () -> awaitLatch(bothRunning)));
+
+        assertTrue(chess.get(5, TimeUnit.SECONDS));
+        assertTrue(art.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCoalesceSignupsQueuedBehindBusyLane() throws Exception {
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        List<Integer> batchSizes = new ArrayList<>();
+        SignupBatchHandler handler = (activityName, batch) -> {
+            batchSizes.add(batch.size());
+            batch.forEach(signup -> signup.complete(RegistrationOutcome.ADDED));
+        };
+
+        CompletableFuture<Boolean> blocker = CompletableFuture.supplyAsync(() -> serializer.execute("Chess Club",
+                () -> {
+                    blockerStarted.countDown();
+                    return awaitRelease(releaseBlocker);
+                }));
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<RegistrationOutcome>> signups = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Email email = new Email("student" + i + "@mergington.edu");
+            signups.add(CompletableFuture.supplyAsync(
+                    () -> serializer.submitSignup("Chess Club", teacher, email, handler)));
+        }
+        while (meterRegistry.summary("activity.write.queue.depth").count() < 6) {
+            Thread.sleep(5);
+        }
+        releaseBlocker.countDown();
+
+        assertTrue(blocker.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<RegistrationOutcome> signup : signups) {
+            assertEquals(RegistrationOutcome.ADDED, signup.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(5), batchSizes);
+        assertEquals(6, meterRegistry.timer("activity.write.queue.wait").count());
+    }
+
+    @Test
+    void shouldFailWholeBatchWhenHandlerThrows() {
+        SignupBatchHandler handler = (activityName, batch) -> {
+            throw new NotFoundException("Atividade não encontrada");
+        };
+
+        assertThrows(NotFoundException.class, () -> serializer.submitSignup("Chess Club", teacher,
+                new Email("student@mergington.edu"), handler));
+    }
+
+    @Test
+    void shouldFailSignupsLeftPendingByHandler() {
+        SignupBatchHandler handler = (activityName, batch) -> {
+        };
+
+        assertThrows(IllegalStateException.class, () -> serializer.submitSignup("Chess Club", teacher,
+                new Email("student@mergington.edu"), handler));
+    }
+
+    @Test
+    void shouldNotRegisterMetersPerActivityName() {
+        for (int i = 0; i < 20; i++) {
+            serializer.execute("Atividade " + i, () -> null);
+        }
+
+        assertEquals(1, meterRegistry.find("activity.write.queue.wait").meters().size());
+        assertEquals(20, meterRegistry.timer("activity.write.queue.wait").count());
+    }
+
+    @Test
+    void shouldPropagateMutationExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> serializer.execute("Chess Club", () -> {
+            throw new IllegalArgumentException("invalid");
+        }));
+
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void shouldDrainOnVirtualThreadsWhenEnabled() {
+        ActivityWriteSerializer virtual = new ActivityWriteSerializer(10, 4, true, meterRegistry);
+        try {
+            assertTrue(virtual.execute("Chess Club", () -> Thread.currentThread().isVirtual()));
+            assertFalse(serializer.execute("Chess Club", () -> Thread.currentThread().isVirtual()));
+        } finally {
+            virtual.shutdown();
+        }
+    }
+
+    private boolean awaitRelease(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
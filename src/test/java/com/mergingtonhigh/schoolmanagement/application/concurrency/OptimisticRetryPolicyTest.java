@@ -0,0 +1,81 @@
+package com.mergingtonhigh.schoolmanagement.application.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ConflictException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OptimisticRetryPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryPolicy = new OptimisticRetryPolicy(3, 0, 0, meterRegistry);
+    }
+
+    @Test
+    void shouldReturnResultWithoutRetryingWhenNoConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.execute("Chess Club", () -> {
+            attempts.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("activity.write.conflicts").count());
+    }
+
+    @Test
+    void shouldRetryUntilOperationSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.execute("Chess Club", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConflictException("conflict");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.counter("activity.write.conflicts").count());
+        assertEquals(2.0, meterRegistry.counter("activity.write.retries").count());
+    }
+
+    @Test
+    void shouldRethrowConflictWhenAttemptsAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConflictException.class, () -> retryPolicy.execute("Chess Club", () -> {
+            attempts.incrementAndGet();
+            throw new ConflictException("conflict");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("activity.write.retries.exhausted").count());
+    }
+
+    @Test
+    void shouldNotRetryOtherExceptions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retryPolicy.execute("Chess Club", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("full");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
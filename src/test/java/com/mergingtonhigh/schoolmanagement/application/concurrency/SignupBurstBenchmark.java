@@ -0,0 +1,159 @@
+package com.mergingtonhigh.schoolmanagement.application.concurrency;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer.PendingSignup;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under a signup burst.
+ * Not part of the regular build (the name does not end in {@code Test}); run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=SignupBurstBenchmark
+ * </pre>
+ *
+ * Each simulated request queues a signup on a real {@link ActivityWriteSerializer}. Its
+ * batch handler makes the Mongo calls the registration use case makes for a batch of
+ * first-time students: the activity read, one schedule read per student, the update and
+ * the catalog refresh. Requests are dispatched the way Tomcat would, on a 200-thread
+ * pool or one virtual thread each, and Mongo is modelled as a fixed-latency connection
+ * pool with the driver's wait timeout. Latency is measured from the start of the burst,
+ * as a client sending it would see it.
+ *
+ * <p>Every {@value #PROBE_EVERY}th request is instead a catalog read served from memory,
+ * which shows how long unrelated requests wait while the burst holds the request threads.
+ */
+class SignupBurstBenchmark {
+
+    private static final int REQUESTS = 10_000;
+    private static final int ACTIVITIES = 40;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int PROBE_EVERY = 50;
+    private static final Duration READ_LATENCY = Duration.ofMillis(2);
+    private static final Duration WRITE_LATENCY = Duration.ofMillis(5);
+    private static final Duration WRITE_LATENCY_PER_SIGNUP = Duration.ofNanos(50_000);
+
+    private final AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER);
+
+    @Test
+    void compareThreadModesUnderSignupBurst() throws Exception {
+        List<Scenario> scenarios = List.of(
+                new Scenario("platform, pool 50/5s", false, 50, Duration.ofSeconds(5)),
+                new Scenario("virtual,  pool 50/5s", true, 50, Duration.ofSeconds(5)),
+                new Scenario("virtual,  pool 100/2s", true, 100, Duration.ofSeconds(2)));
+
+        // Warm-up so the JIT does not count against the first scenario
+        for (Scenario scenario : scenarios) {
+            run(scenario, REQUESTS / 10);
+        }
+        System.out.printf("%n%-24s %12s %10s %10s %8s %14s%n", "mode", "signups/s", "p50 ms", "p99 ms",
+                "errors", "read p99 ms");
+        for (Scenario scenario : scenarios) {
+            Result result = run(scenario, REQUESTS);
+            System.out.printf("%-24s %12.0f %10.1f %10.1f %8d %14.1f%n", scenario.name(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.errors(), result.readP99Millis());
+        }
+    }
+
+    private Result run(Scenario scenario, int requests) throws InterruptedException {
+        MongoPool mongo = new MongoPool(scenario.poolSize(), scenario.maxWait());
+        ActivityWriteSerializer serializer = new ActivityWriteSerializer(50, 16, scenario.virtualThreads(),
+                new SimpleMeterRegistry());
+        ExecutorService tomcat = scenario.virtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_THREADS);
+        int reads = requests / PROBE_EVERY;
+        long[] latencies = new long[requests - reads];
+        long[] readLatencies = new long[reads];
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            if (i % PROBE_EVERY == PROBE_EVERY - 1) {
+                int read = i / PROBE_EVERY;
+                tomcat.execute(() -> readLatencies[read] = System.nanoTime() - start);
+                continue;
+            }
+            int request = i - i / PROBE_EVERY;
+            tomcat.execute(() -> {
+                try {
+                    serializer.submitSignup("Activity " + request % ACTIVITIES, teacher,
+                            new Email("student" + request + "@mergington.edu"),
+                            (activityName, batch) -> persist(mongo, batch));
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                latencies[request] = System.nanoTime() - start;
+            });
+        }
+        tomcat.shutdown();
+        tomcat.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        serializer.shutdown();
+
+        return new Result(latencies.length / (elapsed / 1e9), percentile(latencies, 0.5),
+                percentile(latencies, 0.99), errors.get(), percentile(readLatencies, 0.99));
+    }
+
+    private static double percentile(long[] nanos, double percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * percentile) - 1] / 1e6;
+    }
+
+    private void persist(MongoPool mongo, List<PendingSignup> batch) {
+        mongo.call(READ_LATENCY);
+        batch.forEach(signup -> mongo.call(READ_LATENCY));
+        mongo.call(WRITE_LATENCY.plus(WRITE_LATENCY_PER_SIGNUP.multipliedBy(batch.size())));
+        mongo.call(READ_LATENCY);
+        batch.forEach(signup -> signup.complete(RegistrationOutcome.ADDED));
+    }
+
+    private record Scenario(String name, boolean virtualThreads, int poolSize, Duration maxWait) {
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors, double readP99Millis) {
+    }
+
+    private static final class MongoPool {
+
+        private final Semaphore connections;
+        private final Duration maxWait;
+
+        MongoPool(int size, Duration maxWait) {
+            this.connections = new Semaphore(size, true);
+            this.maxWait = maxWait;
+        }
+
+        void call(Duration latency) {
+            try {
+                if (!connections.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw new IllegalStateException("Timed out waiting for a connection");
+                }
+                try {
+                    Thread.sleep(latency);
+                } finally {
+                    connections.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.mergingtonhigh.schoolmanagement.application.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.domain.entities.IdempotencyRecord;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.IdempotencyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JavaType messageType = objectMapper.getTypeFactory()
+            .constructMapType(Map.class, String.class, String.class);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(idempotencyRepository, objectMapper, meterRegistry,
+                Duration.ofHours(1), 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldRunMutationOnceAndReplayFromCache() {
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.empty());
+        when(idempotencyRepository.saveIfAbsent(any())).thenReturn(true);
+
+        Map<String, String> first = store.execute("key-1", "signup", messageType, this::signup);
+        Map<String, String> replayed = store.execute("key-1", "signup", messageType, this::signup);
+
+        assertEquals(first, replayed);
+        assertEquals(1, executions.get());
+        verify(idempotencyRepository, times(1)).findByKey("key-1");
+        assertEquals(1.0, meterRegistry.counter("idempotency.replays", "source", "cache").count());
+    }
+
+    @Test
+    void shouldStoreResponseWithExpiry() {
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.empty());
+        when(idempotencyRepository.saveIfAbsent(any())).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            assertEquals(NOW.plus(Duration.ofHours(1)), record.getExpiresAt());
+            assertEquals("{\"message\":\"Inscreveu\"}", record.getResponseBody());
+            return true;
+        });
+
+        store.execute("key-1", "signup", messageType, this::signup);
+
+        verify(idempotencyRepository).saveIfAbsent(any());
+    }
+
+    @Test
+    void shouldReplayFromStoreWithoutRunningMutation() {
+        IdempotencyRecord stored = new IdempotencyRecord("key-1", "signup", "{\"message\":\"Inscreveu\"}",
+                NOW.plusSeconds(60));
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.of(stored));
+
+        Map<String, String> response = store.execute("key-1", "signup", messageType, this::signup);
+
+        assertEquals(Map.of("message", "Inscreveu"), response);
+        assertEquals(0, executions.get());
+        verify(idempotencyRepository, never()).saveIfAbsent(any());
+    }
+
+    @Test
+    void shouldIgnoreExpiredRecords() {
+        IdempotencyRecord expired = new IdempotencyRecord("key-1", "signup", "{\"message\":\"antigo\"}",
+                NOW.minusSeconds(1));
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.of(expired));
+        when(idempotencyRepository.saveIfAbsent(any())).thenReturn(true);
+
+        Map<String, String> response = store.execute("key-1", "signup", messageType, this::signup);
+
+        assertEquals(Map.of("message", "Inscreveu"), response);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.empty());
+        when(idempotencyRepository.saveIfAbsent(any())).thenReturn(true);
+        store.execute("key-1", "signup", messageType, this::signup);
+
+        assertThrows(ValidationException.class,
+                () -> store.execute("key-1", "unregister", messageType, this::signup));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldNotStoreFailedMutations() {
+        when(idempotencyRepository.findByKey("key-1")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> store.execute("key-1", "signup", messageType, () -> {
+            throw new NotFoundException("Atividade não encontrada");
+        }));
+
+        verify(idempotencyRepository, never()).saveIfAbsent(any());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedKeysBeyondCacheBound() {
+        when(idempotencyRepository.findByKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRepository.saveIfAbsent(any())).thenReturn(true);
+
+        store.execute("key-1", "signup", messageType, this::signup);
+        store.execute("key-2", "signup", messageType, this::signup);
+        store.execute("key-3", "signup", messageType, this::signup);
+        store.execute("key-1", "signup", messageType, this::signup);
+
+        verify(idempotencyRepository, times(2)).findByKey("key-1");
+    }
+
+    @Test
+    void shouldRejectBlankOrOversizedKeys() {
+        String oversized = "k".repeat(IdempotencyRecord.MAX_KEY_LENGTH + 1);
+
+        assertThrows(ValidationException.class, () -> store.execute(" ", "signup", messageType, this::signup));
+        assertThrows(ValidationException.class,
+                () -> store.execute(oversized, "signup", messageType, this::signup));
+    }
+
+    private Map<String, String> signup() {
+        executions.incrementAndGet();
+        return Map.of("message", "Inscreveu");
+    }
+}
@@ -0,0 +1,130 @@
+package com.mergingtonhigh.schoolmanagement.application.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.TimeRangeMatch;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.TimeSlot;
+
+class ScheduleIntervalTreeTest {
+
+    private static final List<String> DAYS = List.of("Monday", "Tuesday", "Wednesday");
+
+    @Test
+    void shouldAnswerEachMatchKind() {
+        ScheduleIntervalTree tree = ScheduleIntervalTree.of(Map.of(
+                "Xadrez", schedule(List.of("Monday"), 15, 17),
+                "Artes", schedule(List.of("Monday"), 14, 16),
+                "Teatro", schedule(List.of("Monday"), 17, 18),
+                "Futebol", schedule(List.of("Tuesday"), 15, 16)));
+
+        assertEquals(Set.of("Xadrez"), tree.find(TimeRangeMatch.CONTAINED, "Monday", time(15), time(17)));
+        assertEquals(Set.of("Xadrez", "Artes"), tree.find(TimeRangeMatch.OVERLAPS, "Monday", time(15), time(17)));
+        assertEquals(Set.of("Xadrez", "Teatro"),
+                tree.find(TimeRangeMatch.STARTS_WITHIN, "Monday", time(15), time(17)));
+        assertEquals(Set.of("Xadrez", "Futebol"), tree.find(TimeRangeMatch.CONTAINED, null, time(15), time(17)));
+        assertTrue(tree.find(TimeRangeMatch.OVERLAPS, "Friday", time(8), time(20)).isEmpty());
+    }
+
+    @Test
+    void shouldReturnGapsBetweenOverlappingActivities() {
+        ScheduleIntervalTree tree = ScheduleIntervalTree.of(Map.of(
+                "Xadrez", schedule(List.of("Monday"), 9, 11),
+                "Artes", schedule(List.of("Monday"), 10, 12),
+                "Teatro", schedule(List.of("Monday"), 14, 15)));
+
+        assertEquals(List.of(
+                new TimeSlot(time(8), time(9)),
+                new TimeSlot(time(12), time(14)),
+                new TimeSlot(time(15), time(18))), tree.freeSlots("Monday", time(8), time(18)));
+        assertEquals(List.of(new TimeSlot(time(8), time(18))), tree.freeSlots("Sunday", time(8), time(18)));
+    }
+
+    @Test
+    void shouldRebuildOnlyWhenScheduleChanges() {
+        ScheduleIntervalTree tree = ScheduleIntervalTree.of(Map.of(
+                "Xadrez", schedule(List.of("Monday"), 15, 17)));
+
+        assertSame(tree, tree.with("Xadrez", schedule(List.of("Monday"), 15, 17)));
+
+        ScheduleIntervalTree moved = tree.with("Xadrez", schedule(List.of("Friday"), 9, 10));
+        assertEquals(List.of("Friday"), moved.days());
+        assertTrue(moved.find(TimeRangeMatch.OVERLAPS, "Monday", time(0), time(23)).isEmpty());
+        assertEquals(List.of("Monday"), tree.days());
+
+        assertTrue(moved.with("Xadrez", null).days().isEmpty());
+    }
+
+    @Test
+    void shouldMatchLinearScanOnRandomSchedules() {
+        Random random = new Random(42);
+        Map<String, ScheduleDetails> schedules = new HashMap<>();
+        ScheduleIntervalTree tree = ScheduleIntervalTree.of(schedules);
+        for (int i = 0; i < 300; i++) {
+            String name = "Atividade " + random.nextInt(60);
+            if (random.nextInt(5) == 0) {
+                schedules.remove(name);
+                tree = tree.with(name, null);
+            } else {
+                ScheduleDetails schedule = randomSchedule(random);
+                schedules.put(name, schedule);
+                tree = tree.with(name, schedule);
+            }
+
+            String day = random.nextBoolean() ? DAYS.get(random.nextInt(DAYS.size())) : null;
+            LocalTime start = LocalTime.of(8 + random.nextInt(10), 15 * random.nextInt(4));
+            LocalTime end = start.plusMinutes(15 * random.nextInt(16));
+            for (TimeRangeMatch match : TimeRangeMatch.values()) {
+                assertEquals(linearScan(schedules, match, day, start, end),
+                        new TreeSet<>(tree.find(match, day, start, end)), match + " " + day + " " + start);
+            }
+        }
+        assertEquals(ScheduleIntervalTree.of(schedules).days(), tree.days());
+    }
+
+    private Set<String> linearScan(Map<String, ScheduleDetails> schedules, TimeRangeMatch match, String day,
+            LocalTime start, LocalTime end) {
+        Set<String> names = new TreeSet<>();
+        schedules.forEach((name, schedule) -> {
+            if (day != null && !schedule.days().contains(day)) {
+                return;
+            }
+            boolean matches = match == TimeRangeMatch.CONTAINED
+                    ? !schedule.startTime().isBefore(start) && !schedule.endTime().isAfter(end)
+                    : match == TimeRangeMatch.OVERLAPS
+                            ? schedule.startTime().isBefore(end) && schedule.endTime().isAfter(start)
+                            : !schedule.startTime().isBefore(start) && !schedule.startTime().isAfter(end);
+            if (matches) {
+                names.add(name);
+            }
+        });
+        return names;
+    }
+
+    private ScheduleDetails randomSchedule(Random random) {
+        List<String> days = random.nextBoolean() ? List.of(DAYS.get(random.nextInt(DAYS.size())))
+                : List.of(DAYS.get(0), DAYS.get(2));
+        LocalTime start = LocalTime.of(8 + random.nextInt(10), 15 * random.nextInt(4));
+        return new ScheduleDetails(days, start, start.plusMinutes(15 * (1 + random.nextInt(12))));
+    }
+
+    private ScheduleDetails schedule(List<String> days, int startHour, int endHour) {
+        return new ScheduleDetails(days, time(startHour), time(endHour));
+    }
+
+    private LocalTime time(int hour) {
+        return LocalTime.of(hour, 0);
+    }
+}
@@ -0,0 +1,148 @@
+package com.mergingtonhigh.schoolmanagement.application.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+
+@ExtendWith(MockitoExtension.class)
+class StudentScheduleIndexTest {
+
+    private final Email student = new Email("student@mergington.edu");
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    private StudentScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StudentScheduleIndex(activityRepository, 2);
+    }
+
+    @Test
+    void shouldDetectOverlapOnSharedDay() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of(
+                summary("Clube de Xadrez", schedule(List.of("Monday", "Wednesday"), 15, 17))));
+
+        assertEquals(Optional.of("Clube de Xadrez"),
+                index.findConflict(student, "Clube de Artes", schedule(List.of("Wednesday"), 16, 18)));
+        assertEquals(Optional.of("Clube de Xadrez"),
+                index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 14, 16)));
+    }
+
+    @Test
+    void shouldAllowBackToBackAndOtherDays() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of(
+                summary("Clube de Xadrez", schedule(List.of("Monday"), 15, 17))));
+
+        assertTrue(index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 17, 18)).isEmpty());
+        assertTrue(index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 13, 15)).isEmpty());
+        assertTrue(index.findConflict(student, "Clube de Artes", schedule(List.of("Tuesday"), 15, 17)).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreTheActivityBeingCheckedAgainst() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of(
+                summary("Clube de Xadrez", schedule(List.of("Monday"), 15, 17))));
+
+        assertTrue(index.findConflict(student, "Clube de Xadrez", schedule(List.of("Monday"), 15, 17)).isEmpty());
+    }
+
+    @Test
+    void shouldFindLongSlotWhenEnrolledSlotsOverlapEachOther() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of(
+                summary("Clube de Xadrez", schedule(List.of("Monday"), 9, 12)),
+                summary("Clube de Artes", schedule(List.of("Monday"), 10, 11))));
+
+        assertEquals(Optional.of("Clube de Xadrez"), index.findConflict(student, "Clube de Teatro",
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(11, 30), LocalTime.of(13, 0))));
+    }
+
+    @Test
+    void shouldMaintainIndexIncrementallyAfterFirstLoad() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of());
+        ScheduleDetails chess = schedule(List.of("Monday"), 15, 17);
+
+        assertTrue(index.findConflict(student, "Clube de Xadrez", chess).isEmpty());
+        index.recordEnrollment(student, "Clube de Xadrez", chess);
+        assertEquals(Optional.of("Clube de Xadrez"),
+                index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 16, 18)));
+
+        index.recordRemoval(student, "Clube de Xadrez");
+        assertTrue(index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 16, 18)).isEmpty());
+
+        verify(activityRepository, times(1)).findByParticipant(student);
+    }
+
+    @Test
+    void shouldNotCacheLoadThatRacedWithEnrollment() {
+        ScheduleDetails chess = schedule(List.of("Monday"), 15, 17);
+        // The enrollment is written while the load is still reading, so the load misses it
+        when(activityRepository.findByParticipant(student)).thenAnswer(invocation -> {
+            index.recordEnrollment(student, "Clube de Xadrez", chess);
+            return List.of();
+        }).thenReturn(List.of(summary("Clube de Xadrez", chess)));
+
+        assertTrue(index.findConflict(student, "Clube de Artes", schedule(List.of("Tuesday"), 9, 10)).isEmpty());
+
+        assertEquals(Optional.of("Clube de Xadrez"),
+                index.findConflict(student, "Clube de Artes", schedule(List.of("Monday"), 16, 18)));
+        verify(activityRepository, times(2)).findByParticipant(student);
+    }
+
+    @Test
+    void shouldFindConflictAmongManyEnrollments() {
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of());
+        index.findConflict(student, "probe", schedule(List.of("Monday"), 6, 7));
+        for (int hour = 7; hour < 22; hour++) {
+            index.recordEnrollment(student, "Atividade " + hour, schedule(List.of("Monday"), hour, hour + 1));
+        }
+
+        assertEquals(Optional.of("Atividade 12"),
+                index.findConflict(student, "Nova", new ScheduleDetails(List.of("Monday"),
+                        LocalTime.of(12, 30), LocalTime.of(12, 45))));
+    }
+
+    @Test
+    void shouldReloadLeastRecentlyUsedStudents() {
+        Email other = new Email("other@mergington.edu");
+        Email third = new Email("third@mergington.edu");
+        when(activityRepository.findByParticipant(student)).thenReturn(List.of());
+        when(activityRepository.findByParticipant(other)).thenReturn(List.of());
+        when(activityRepository.findByParticipant(third)).thenReturn(List.of());
+        ScheduleDetails chess = schedule(List.of("Monday"), 15, 17);
+
+        index.findConflict(student, "Clube de Xadrez", chess);
+        index.findConflict(other, "Clube de Xadrez", chess);
+        index.findConflict(third, "Clube de Xadrez", chess);
+        index.findConflict(student, "Clube de Xadrez", chess);
+
+        verify(activityRepository, times(2)).findByParticipant(student);
+    }
+
+    private ActivitySummary summary(String name, ScheduleDetails schedule) {
+        return new ActivitySummary(name, "Descrição", ActivityCategory.ACADEMIC, schedule, 10, 1);
+    }
+
+    private ScheduleDetails schedule(List<String> days, int startHour, int endHour) {
+        return new ScheduleDetails(days, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+}
@@ -0,0 +1,170 @@
+package com.mergingtonhigh.schoolmanagement.application.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mergingtonhigh.schoolmanagement.application.catalog.ActivityCatalog;
+import com.mergingtonhigh.schoolmanagement.application.catalog.CatalogSnapshot;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.SeatCountDTO;
+import com.mergingtonhigh.schoolmanagement.application.scheduling.ScheduleIntervalTree;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+import com.mergingtonhigh.schoolmanagement.domain.events.ActivityChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SeatCountHubTest {
+
+    @Mock
+    private ActivityCatalog activityCatalog;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatCountHub hub;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new SeatCountHub(activityCatalog, 2, 2, Duration.ofSeconds(10), false, meterRegistry);
+        when(activityCatalog.current()).thenAnswer(invocation -> snapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void shouldPushOnlyChangedSeatCounts() throws InterruptedException {
+        BlockingQueue<SeatCountDTO> received = new LinkedBlockingQueue<>();
+        hub.subscribe(received::add, () -> {
+        });
+
+        change("Clube de Xadrez", 3, 12);
+        change("Clube de Xadrez", 3, 12);
+        change("Clube de Xadrez", 4, 12);
+
+        assertEquals(new SeatCountDTO("Clube de Xadrez", 3, 9), received.poll(5, TimeUnit.SECONDS));
+        assertEquals(new SeatCountDTO("Clube de Xadrez", 4, 8), received.poll(5, TimeUnit.SECONDS));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldDropSlowSubscriberWithoutHoldingBackOthers() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        hub.subscribe(seatCount -> {
+            sending.countDown();
+            awaitQuietly(release);
+        }, dropped::countDown);
+        BlockingQueue<SeatCountDTO> fast = new LinkedBlockingQueue<>();
+        hub.subscribe(fast::add, () -> {
+        });
+
+        try {
+            change("Clube de Xadrez", 1, 12);
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            assertEquals(1, fast.poll(5, TimeUnit.SECONDS).currentParticipantCount());
+            // The slow subscriber's buffer holds two more changes; the third overflows it
+            for (int count = 2; count <= 4; count++) {
+                change("Clube de Xadrez", count, 12);
+                assertEquals(count, fast.poll(5, TimeUnit.SECONDS).currentParticipantCount());
+            }
+
+            assertEquals(1, hub.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("activity.stream.dropped").count());
+            // Completing the response would wait for the send in flight, so onDrop waits for it too
+            assertEquals(1, dropped.getCount());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(dropped.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldDropSubscriberWhoseSendOutlastsTimeout() throws InterruptedException {
+        SeatCountHub singleSender = new SeatCountHub(activityCatalog, 2, 1, Duration.ofMillis(100), false,
+                meterRegistry);
+        hub.shutdown();
+        hub = singleSender;
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        hub.subscribe(seatCount -> awaitQuietly(never), dropped::countDown);
+        BlockingQueue<SeatCountDTO> fast = new LinkedBlockingQueue<>();
+        hub.subscribe(fast::add, () -> {
+        });
+
+        change("Clube de Xadrez", 1, 12);
+        change("Clube de Xadrez", 2, 12);
+
+        assertTrue(dropped.await(5, TimeUnit.SECONDS));
+        assertEquals(1, fast.poll(5, TimeUnit.SECONDS).currentParticipantCount());
+        assertEquals(2, fast.poll(5, TimeUnit.SECONDS).currentParticipantCount());
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("activity.stream.dropped").count());
+    }
+
+    @Test
+    void shouldDropSubscriberWhenSendFails() throws InterruptedException {
+        CountDownLatch dropped = new CountDownLatch(1);
+        hub.subscribe(seatCount -> {
+            throw new IOException("Conexão encerrada");
+        }, dropped::countDown);
+
+        change("Clube de Xadrez", 1, 12);
+
+        assertTrue(dropped.await(5, TimeUnit.SECONDS));
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void shouldStopDeliveringAfterCancel() throws InterruptedException {
+        BlockingQueue<SeatCountDTO> received = new LinkedBlockingQueue<>();
+        SeatCountHub.Subscription subscription = hub.subscribe(received::add, () -> {
+        });
+
+        subscription.cancel();
+        change("Clube de Xadrez", 1, 12);
+
+        assertEquals(0, hub.subscriberCount());
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private void change(String name, int participants, int maxParticipants) {
+        ActivitySummaryDTO summary = new ActivitySummaryDTO(name, "Descrição", null, maxParticipants, participants,
+                maxParticipants - participants, ActivityCategory.ACADEMIC);
+        long version = snapshot != null ? snapshot.version() + 1 : 1;
+        snapshot = new CatalogSnapshot(version, Instant.now(), Map.of(), Map.of(name, summary),
+                ScheduleIntervalTree.of(Map.of()), List.of());
+        hub.onActivityChanged(new ActivityChangedEvent(name, null));
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
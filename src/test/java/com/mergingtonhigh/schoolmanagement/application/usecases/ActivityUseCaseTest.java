@@ -1,9 +1,17 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
@@ -12,14 +20,25 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.mergingtonhigh.schoolmanagement.application.catalog.ActivityCatalog;
 import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityPageDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivitySummaryDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.FreeSlotDTO;
 import com.mergingtonhigh.schoolmanagement.application.mappers.ActivityMapper;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
 import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageCursor;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageQuery;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
 import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +54,8 @@ class ActivityUseCaseTest {
 
     @BeforeEach
     void setUp() {
-        useCase = new ActivityUseCase(activityRepository, activityMapper);
+        useCase = new ActivityUseCase(activityRepository, activityMapper,
+                new ActivityCatalog(activityRepository, activityMapper, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -60,16 +80,14 @@ class ActivityUseCaseTest {
 
     @Test
     void shouldFilterActivitiesByDay() {
-        String day = "Monday";
-        Activity activity = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
-        List<Activity> activities = Arrays.asList(activity);
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Tuesday", 15, 30, 17, 0);
 
-        ActivityDTO dto = createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC);
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
 
-        when(activityRepository.findByDay(day)).thenReturn(activities);
-        when(activityMapper.toDTO(activity)).thenReturn(dto);
-
-        Map<String, ActivityDTO> result = useCase.getActivities(day, null, null, null);
+        Map<String, ActivityDTO> result = useCase.getActivities("Monday", null, null, null);
 
         assertEquals(1, result.size());
         assertTrue(result.containsKey("Chess Club"));
@@ -77,20 +95,14 @@ class ActivityUseCaseTest {
 
     @Test
     void shouldFilterActivitiesByTimeRange() {
-        String startTime = "15:00";
-        String endTime = "17:00";
-        LocalTime start = LocalTime.of(15, 0);
-        LocalTime end = LocalTime.of(17, 0);
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Monday", 14, 0, 16, 0);
 
-        Activity activity = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
-        List<Activity> activities = Arrays.asList(activity);
-
-        ActivityDTO dto = createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC);
-
-        when(activityRepository.findByTimeRange(start, end)).thenReturn(activities);
-        when(activityMapper.toDTO(activity)).thenReturn(dto);
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
 
-        Map<String, ActivityDTO> result = useCase.getActivities(null, startTime, endTime, null);
+        Map<String, ActivityDTO> result = useCase.getActivities(null, "15:00", "17:00", null);
 
         assertEquals(1, result.size());
         assertTrue(result.containsKey("Chess Club"));
@@ -98,21 +110,16 @@ class ActivityUseCaseTest {
 
     @Test
     void shouldFilterActivitiesByDayAndTimeRange() {
-        String day = "Monday";
-        String startTime = "15:00";
-        String endTime = "17:00";
-        LocalTime start = LocalTime.of(15, 0);
-        LocalTime end = LocalTime.of(17, 0);
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Tuesday", 15, 30, 17, 0);
+        Activity drama = createTestActivity("Drama Club", ActivityCategory.ARTS, "Monday", 16, 0, 18, 0);
 
-        Activity activity = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
-        List<Activity> activities = Arrays.asList(activity);
-
-        ActivityDTO dto = createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC);
-
-        when(activityRepository.findByDayAndTimeRange(day, start, end)).thenReturn(activities);
-        when(activityMapper.toDTO(activity)).thenReturn(dto);
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art, drama));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
+        when(activityMapper.toDTO(drama)).thenReturn(createTestActivityDTO("Drama Club", ActivityCategory.ARTS));
 
-        Map<String, ActivityDTO> result = useCase.getActivities(day, startTime, endTime, null);
+        Map<String, ActivityDTO> result = useCase.getActivities("Monday", "15:00", "17:00", null);
 
         assertEquals(1, result.size());
         assertTrue(result.containsKey("Chess Club"));
@@ -139,10 +146,13 @@ class ActivityUseCaseTest {
 
     @Test
     void shouldReturnAvailableDaysSorted() {
-        List<String> days = Arrays.asList("Wednesday", "Monday", "Friday");
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC, "Wednesday", 15, 30, 17, 0);
+        Activity art = new Activity("Art Club", "Test Description", new ScheduleDetails(
+                Arrays.asList("Monday", "Friday"), LocalTime.of(15, 30), LocalTime.of(17, 0)), 12,
+                ActivityCategory.ARTS);
         List<String> expectedSorted = Arrays.asList("Friday", "Monday", "Wednesday");
 
-        when(activityRepository.findAllUniqueDays()).thenReturn(days);
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art));
 
         List<String> result = useCase.getAvailableDays();
 
@@ -151,31 +161,202 @@ class ActivityUseCaseTest {
 
     @Test
     void shouldUseOverloadedMethodWithoutCategory() {
-        String day = "Monday";
-        String startTime = "15:00";
-        String endTime = "17:00";
-        LocalTime start = LocalTime.of(15, 0);
-        LocalTime end = LocalTime.of(17, 0);
-
         Activity activity = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
-        List<Activity> activities = Arrays.asList(activity);
-
         ActivityDTO dto = createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC);
 
-        when(activityRepository.findByDayAndTimeRange(day, start, end)).thenReturn(activities);
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(activity));
         when(activityMapper.toDTO(activity)).thenReturn(dto);
 
-        Map<String, ActivityDTO> result = useCase.getActivities(day, startTime, endTime);
+        Map<String, ActivityDTO> result = useCase.getActivities("Monday", "15:00", "17:00");
 
         assertEquals(1, result.size());
         assertTrue(result.containsKey("Chess Club"));
     }
 
+    @Test
+    void shouldReturnSummariesWithSameFilters() {
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Tuesday", 15, 30, 17, 0);
+        ActivitySummaryDTO chessSummary = new ActivitySummaryDTO("Chess Club", "Test Description", null, 12, 3, 9,
+                ActivityCategory.ACADEMIC);
+
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
+        when(activityMapper.toSummaryDTO(chess)).thenReturn(chessSummary);
+
+        Map<String, ActivitySummaryDTO> result = useCase.getActivitySummaries("Monday", null, null, "ACADEMIC");
+
+        assertEquals(Map.of("Chess Club", chessSummary), result);
+    }
+
+    @Test
+    void shouldReturnFirstPageWithCursorWhenMoreRemain() {
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS);
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity drama = createTestActivity("Drama Club", ActivityCategory.ARTS);
+        ArgumentCaptor<ActivityPageQuery> query = ArgumentCaptor.forClass(ActivityPageQuery.class);
+
+        when(activityRepository.findPage(query.capture())).thenReturn(Arrays.asList(art, chess, drama));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+
+        ActivityPageDTO page = useCase.getActivityPage("Monday", null, null, null, "start_time", null, 2);
+
+        assertEquals(2, page.activities().size());
+        assertEquals("Chess Club", page.activities().get(1).name());
+        assertNotNull(page.nextCursor());
+        assertEquals(3, query.getValue().limit());
+        assertEquals(ActivitySortKey.START_TIME, query.getValue().sortKey());
+        assertNull(query.getValue().after());
+    }
+
+    @Test
+    void shouldContinueAfterDecodedCursor() {
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity drama = createTestActivity("Drama Club", ActivityCategory.ARTS);
+        ArgumentCaptor<ActivityPageQuery> query = ArgumentCaptor.forClass(ActivityPageQuery.class);
+
+        when(activityRepository.findPage(query.capture()))
+                .thenReturn(Arrays.asList(chess, drama))
+                .thenReturn(Arrays.asList(drama));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(drama)).thenReturn(createTestActivityDTO("Drama Club", ActivityCategory.ARTS));
+
+        ActivityPageDTO first = useCase.getActivityPage(null, null, null, null, "category", null, 1);
+        ActivityPageDTO second = useCase.getActivityPage(null, null, null, null, "category", first.nextCursor(), 1);
+
+        ActivityPageCursor after = query.getAllValues().get(1).after();
+        assertEquals(new ActivityPageCursor(ActivitySortKey.CATEGORY, "ACADEMIC", "Chess Club"), after);
+        assertEquals("Drama Club", second.activities().get(0).name());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidPagingParameters() {
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivityPage(null, null, null, null, "name", null, 0));
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivityPage(null, null, null, null, "name", null,
+                        ActivityUseCase.MAX_PAGE_SIZE + 1));
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivityPage(null, null, null, null, "popularity", null, 10));
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivityPage(null, null, null, null, "name", "not a cursor!", 10));
+
+        verify(activityRepository, never()).findPage(any());
+    }
+
+    @Test
+    void shouldRejectCursorFromDifferentSort() {
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity drama = createTestActivity("Drama Club", ActivityCategory.ARTS);
+
+        when(activityRepository.findPage(any())).thenReturn(Arrays.asList(chess, drama));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+
+        String cursor = useCase.getActivityPage(null, null, null, null, "name", null, 1).nextCursor();
+
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivityPage(null, null, null, null, "start_time", cursor, 1));
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCatalogSnapshot() {
+        Activity activity = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(activity));
+        when(activityMapper.toDTO(activity)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+
+        useCase.getActivities(null, null, null, null);
+        useCase.getActivities("Monday", null, null, "ACADEMIC");
+        useCase.getAvailableDays();
+
+        verify(activityRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldReturnActivitiesForStudentFromParticipantLookup() {
+        ScheduleDetails schedule = new ScheduleDetails(Arrays.asList("Monday"), LocalTime.of(15, 30),
+                LocalTime.of(17, 0));
+        ActivitySummary summary = new ActivitySummary("Chess Club", "Test Description",
+                ActivityCategory.ACADEMIC, schedule, 12, 3);
+        ActivitySummaryDTO dto = new ActivitySummaryDTO("Chess Club", "Test Description", null, 12, 3, 9,
+                ActivityCategory.ACADEMIC);
+
+        when(activityRepository.findByParticipant(new Email("Student@Mergington.edu")))
+                .thenReturn(List.of(summary));
+        when(activityMapper.toSummaryDTO(summary)).thenReturn(dto);
+
+        List<ActivitySummaryDTO> result = useCase.getActivitiesForStudent("Student@Mergington.edu");
+
+        assertEquals(List.of(dto), result);
+        verify(activityRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldRejectInvalidStudentEmail() {
+        assertThrows(IllegalArgumentException.class, () -> useCase.getActivitiesForStudent("not-an-email"));
+
+        verify(activityRepository, never()).findByParticipant(any());
+    }
+
+    @Test
+    void shouldFilterActivitiesOverlappingTimeRange() {
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Monday", 14, 0, 16, 0);
+        Activity drama = createTestActivity("Drama Club", ActivityCategory.ARTS, "Monday", 17, 0, 18, 0);
+
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art, drama));
+        when(activityMapper.toDTO(chess)).thenReturn(createTestActivityDTO("Chess Club", ActivityCategory.ACADEMIC));
+        when(activityMapper.toDTO(art)).thenReturn(createTestActivityDTO("Art Club", ActivityCategory.ARTS));
+        when(activityMapper.toDTO(drama)).thenReturn(createTestActivityDTO("Drama Club", ActivityCategory.ARTS));
+
+        Map<String, ActivityDTO> overlapping = useCase.getActivities("Monday", "15:00", "17:00", null, "overlaps");
+        Map<String, ActivityDTO> startingWithin = useCase.getActivities("Monday", "15:00", "17:00", null,
+                "starts_within");
+
+        assertEquals(List.of("Art Club", "Chess Club"), List.copyOf(overlapping.keySet()));
+        assertEquals(List.of("Chess Club", "Drama Club"), List.copyOf(startingWithin.keySet()));
+    }
+
+    @Test
+    void shouldRejectUnknownTimeRangeMatch() {
+        when(activityRepository.findAll()).thenReturn(List.of());
+
+        assertThrows(ValidationException.class,
+                () -> useCase.getActivities(null, "15:00", "17:00", null, "around"));
+    }
+
+    @Test
+    void shouldReturnFreeSlotsBetweenActivities() {
+        Activity chess = createTestActivity("Chess Club", ActivityCategory.ACADEMIC);
+        Activity art = createTestActivity("Art Club", ActivityCategory.ARTS, "Monday", 8, 0, 10, 0);
+
+        when(activityRepository.findAll()).thenReturn(Arrays.asList(chess, art));
+        when(activityMapper.toDTO(any(Activity.class)))
+                .thenAnswer(invocation -> createTestActivityDTO(invocation.<Activity>getArgument(0).getName(),
+                        ActivityCategory.ACADEMIC));
+
+        List<FreeSlotDTO> freeSlots = useCase.getFreeSlots("Monday", "07:00", "18:00");
+
+        assertEquals(List.of(
+                new FreeSlotDTO("Monday", "07:00", "08:00"),
+                new FreeSlotDTO("Monday", "10:00", "15:30"),
+                new FreeSlotDTO("Monday", "17:00", "18:00")), freeSlots);
+        assertThrows(ValidationException.class, () -> useCase.getFreeSlots(null, "07:00", "18:00"));
+    }
+
     private Activity createTestActivity(String name, ActivityCategory category) {
+        return createTestActivity(name, category, "Monday", 15, 30, 17, 0);
+    }
+
+    private Activity createTestActivity(String name, ActivityCategory category, String day, int startHour,
+            int startMinute, int endHour, int endMinute) {
         ScheduleDetails schedule = new ScheduleDetails(
-                Arrays.asList("Monday"),
-                LocalTime.of(15, 30),
-                LocalTime.of(17, 0));
+                Arrays.asList(day),
+                LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute));
 
         return new Activity(name, "Test Description", schedule, 12, category);
     }
@@ -194,6 +375,7 @@ class ActivityUseCaseTest {
                 12,
                 Arrays.asList(),
                 0,
+                0,
                 category,
                 true);
     }
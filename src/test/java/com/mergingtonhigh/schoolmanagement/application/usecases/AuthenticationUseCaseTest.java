@@ -1,11 +1,23 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,12 +25,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.mergingtonhigh.schoolmanagement.application.auth.PasswordVerificationExecutor;
+import com.mergingtonhigh.schoolmanagement.application.auth.SessionTokenService;
+import com.mergingtonhigh.schoolmanagement.application.dtos.SessionDTO;
 import com.mergingtonhigh.schoolmanagement.application.dtos.TeacherDTO;
 import com.mergingtonhigh.schoolmanagement.application.mappers.TeacherMapper;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
-import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationUseCaseTest {
@@ -32,11 +49,23 @@ class AuthenticationUseCaseTest {
     @Mock
     private TeacherMapper teacherMapper;
 
+    private final SessionTokenService sessionTokenService =
+            new SessionTokenService("0123456789abcdef0123456789abcdef", Duration.ofHours(8));
+
+    private PasswordVerificationExecutor passwordVerifier;
     private AuthenticationUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new AuthenticationUseCase(teacherRepository, passwordEncoder, teacherMapper);
+        passwordVerifier = new PasswordVerificationExecutor(passwordEncoder, new SimpleMeterRegistry(), 1, 4,
+                Duration.ofSeconds(2));
+        useCase = new AuthenticationUseCase(teacherRepository, passwordVerifier, teacherMapper, sessionTokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useCase.shutdown();
+        passwordVerifier.shutdown();
     }
 
     @Test
@@ -52,9 +81,81 @@ class AuthenticationUseCaseTest {
         when(passwordEncoder.matches(password, encodedPassword)).thenReturn(true);
         when(teacherMapper.toDTO(teacher)).thenReturn(expectedDTO);
 
-        TeacherDTO result = useCase.login(username, password);
+        SessionDTO result = useCase.login(username, password).join();
 
-        assertEquals(expectedDTO, result);
+        assertEquals(username, result.username());
+        assertEquals("Teacher One", result.displayName());
+        assertEquals(Teacher.Role.TEACHER.name(), result.role());
+        assertEquals(Optional.of(new AuthenticatedTeacher(username, "Teacher One", Teacher.Role.TEACHER)),
+                sessionTokenService.verify(result.token()));
+        verify(teacherRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldUpgradeOutdatedPasswordHashOnLogin() throws Exception {
+        Teacher teacher = new Teacher("teacher1", "Teacher One", "old_hash", Teacher.Role.TEACHER);
+
+        when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
+        when(passwordEncoder.matches("password123", "old_hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old_hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("new_hash");
+        when(teacherMapper.toDTO(teacher)).thenReturn(new TeacherDTO("teacher1", "Teacher One", "teacher"));
+        CompletableFuture<String> savingThread = new CompletableFuture<>();
+        when(teacherRepository.replacePassword("teacher1", "old_hash", "new_hash")).thenAnswer(invocation -> {
+            savingThread.complete(Thread.currentThread().getName());
+            return true;
+        });
+
+        useCase.login("teacher1", "password123").join();
+
+        // The Mongo write must not hold one of the few password verifier threads
+        assertEquals("password-hash-upgrader", savingThread.get(5, TimeUnit.SECONDS));
+        verify(teacherRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotOverwriteTeacherChangedBetweenLoginAndHashUpgrade() throws Exception {
+        Teacher teacher = new Teacher("teacher1", "Teacher One", "old_hash", Teacher.Role.TEACHER);
+        AtomicReference<String> storedHash = new AtomicReference<>("old_hash");
+
+        when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
+        // An admin resets the password after the login read, while the old hash is being verified
+        when(passwordEncoder.matches("password123", "old_hash")).thenAnswer(invocation -> {
+            storedHash.set("reset_hash");
+            return true;
+        });
+        when(passwordEncoder.upgradeEncoding("old_hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("new_hash");
+        when(teacherMapper.toDTO(teacher)).thenReturn(new TeacherDTO("teacher1", "Teacher One", "teacher"));
+        CompletableFuture<Boolean> replaced = new CompletableFuture<>();
+        when(teacherRepository.replacePassword("teacher1", "old_hash", "new_hash")).thenAnswer(invocation -> {
+            boolean result = storedHash.compareAndSet(invocation.getArgument(1), invocation.getArgument(2));
+            replaced.complete(result);
+            return result;
+        });
+
+        useCase.login("teacher1", "password123").join();
+
+        assertFalse(replaced.get(5, TimeUnit.SECONDS));
+        assertEquals("reset_hash", storedHash.get());
+        verify(teacherRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldLoginEvenWhenSavingUpgradedHashFails() {
+        Teacher teacher = new Teacher("teacher1", "Teacher One", "old_hash", Teacher.Role.TEACHER);
+
+        when(teacherRepository.findByUsername("teacher1")).thenReturn(Optional.of(teacher));
+        when(passwordEncoder.matches("password123", "old_hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old_hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("new_hash");
+        when(teacherRepository.replacePassword("teacher1", "old_hash", "new_hash"))
+                .thenThrow(new IllegalStateException("Mongo indisponível"));
+        when(teacherMapper.toDTO(teacher)).thenReturn(new TeacherDTO("teacher1", "Teacher One", "teacher"));
+
+        SessionDTO result = useCase.login("teacher1", "password123").join();
+
+        assertEquals("teacher1", result.username());
     }
 
     @Test
@@ -81,35 +182,32 @@ class AuthenticationUseCaseTest {
         when(teacherRepository.findByUsername(username)).thenReturn(Optional.of(teacher));
         when(passwordEncoder.matches(password, encodedPassword)).thenReturn(false);
 
-        AuthenticationException exception = assertThrows(AuthenticationException.class,
-                () -> useCase.login(username, password));
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> useCase.login(username, password).join());
 
+        AuthenticationException exception = assertInstanceOf(AuthenticationException.class, failure.getCause());
         assertEquals("Usuário ou senha inválidos", exception.getMessage());
     }
 
     @Test
-    void shouldCheckSessionSuccessfully() {
-        String username = "teacher1";
-        Teacher teacher = new Teacher(username, "Teacher One", "password", Teacher.Role.TEACHER);
-        TeacherDTO expectedDTO = new TeacherDTO(username, "Teacher One", Teacher.Role.TEACHER.name());
+    void shouldCheckSessionFromTokenPrincipalWithoutLookup() {
+        AuthenticatedTeacher principal = new AuthenticatedTeacher("teacher1", "Teacher One", Teacher.Role.ADMIN);
+        TeacherDTO expectedDTO = new TeacherDTO("teacher1", "Teacher One", "admin");
 
-        when(teacherRepository.findByUsername(username)).thenReturn(Optional.of(teacher));
-        when(teacherMapper.toDTO(teacher)).thenReturn(expectedDTO);
+        when(teacherMapper.toDTO(principal)).thenReturn(expectedDTO);
 
-        TeacherDTO result = useCase.checkSession(username);
+        TeacherDTO result = useCase.checkSession(principal);
 
         assertEquals(expectedDTO, result);
+        verifyNoInteractions(teacherRepository);
     }
 
     @Test
-    void shouldThrowNotFoundExceptionWhenCheckingNonExistentSession() {
-        String username = "nonexistent";
-
-        when(teacherRepository.findByUsername(username)).thenReturn(Optional.empty());
-
-        NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> useCase.checkSession(username));
+    void shouldRejectSessionCheckWithoutValidToken() {
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> useCase.checkSession(null));
 
-        assertEquals("Professor não encontrado", exception.getMessage());
+        assertEquals("Sessão inválida ou expirada", exception.getMessage());
+        verifyNoInteractions(teacherRepository);
     }
-}
\ No newline at end of file
+}
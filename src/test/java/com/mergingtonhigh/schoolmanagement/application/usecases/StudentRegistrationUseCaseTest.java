@@ -1,33 +1,53 @@
 package com.mergingtonhigh.schoolmanagement.application.usecases;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.mergingtonhigh.schoolmanagement.application.concurrency.ActivityWriteSerializer;
+import com.mergingtonhigh.schoolmanagement.application.concurrency.OptimisticRetryPolicy;
+import com.mergingtonhigh.schoolmanagement.application.dtos.BatchSignupResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.RegistrationResultDTO;
+import com.mergingtonhigh.schoolmanagement.application.dtos.WaitlistPositionDTO;
+import com.mergingtonhigh.schoolmanagement.application.scheduling.StudentScheduleIndex;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
 import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
 import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
-import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthenticationException;
+import com.mergingtonhigh.schoolmanagement.domain.enums.RegistrationOutcome;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ConflictException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.AuthorizationException;
 import com.mergingtonhigh.schoolmanagement.domain.exceptions.NotFoundException;
+import com.mergingtonhigh.schoolmanagement.domain.exceptions.ValidationException;
 import com.mergingtonhigh.schoolmanagement.domain.repositories.ActivityRepository;
-import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivitySummary;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.Email;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ParticipantRemoval;
 import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.WaitlistPosition;
 
 @ExtendWith(MockitoExtension.class)
 class StudentRegistrationUseCaseTest {
@@ -35,14 +55,22 @@ class StudentRegistrationUseCaseTest {
     @Mock
     private ActivityRepository activityRepository;
 
-    @Mock
-    private TeacherRepository teacherRepository;
-
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityWriteSerializer writeSerializer;
     private StudentRegistrationUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new StudentRegistrationUseCase(activityRepository, teacherRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        OptimisticRetryPolicy retryPolicy = new OptimisticRetryPolicy(3, 0, 0, meterRegistry);
+        writeSerializer = new ActivityWriteSerializer(50, 4, false, meterRegistry);
+        useCase = new StudentRegistrationUseCase(activityRepository, retryPolicy, writeSerializer,
+                new StudentScheduleIndex(activityRepository, 100), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeSerializer.shutdown();
     }
 
     @Test
@@ -51,33 +79,19 @@ class StudentRegistrationUseCaseTest {
         String email = "student@mergington.edu";
         String teacherUsername = "teacher1";
 
-        Teacher teacher = new Teacher(teacherUsername, "Teacher", "password", Teacher.Role.TEACHER);
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
         Activity activity = createTestActivity(activityName);
         activity.setCanTeachersRegisterStudents(true); // Allow teachers to register students
 
-        when(teacherRepository.findByUsername(teacherUsername)).thenReturn(Optional.of(teacher));
         when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
-        when(activityRepository.save(any(Activity.class))).thenReturn(activity);
-
-        String result = useCase.signupForActivity(activityName, email, teacherUsername);
-
-        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result);
-        verify(activityRepository).save(activity);
-        assertTrue(activity.getParticipants().contains(email));
-    }
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.ADDED);
 
-    @Test
-    void shouldThrowExceptionWhenTeacherNotFound() {
-        String activityName = "Clube de Xadrez";
-        String email = "student@mergington.edu";
-        String teacherUsername = "nonexistent";
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, teacher);
 
-        when(teacherRepository.findByUsername(teacherUsername)).thenReturn(Optional.empty());
-
-        assertThrows(AuthenticationException.class,
-                () -> useCase.signupForActivity(activityName, email, teacherUsername));
-
-        verify(activityRepository, never()).findByName(any());
+        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result.message());
+        assertEquals(RegistrationResultDTO.Status.ADDED, result.status());
+        verify(activityRepository).tryAddParticipant(activityName, new Email(email));
         verify(activityRepository, never()).save(any());
     }
 
@@ -87,15 +101,14 @@ class StudentRegistrationUseCaseTest {
         String email = "student@mergington.edu";
         String teacherUsername = "teacher1";
 
-        Teacher teacher = new Teacher(teacherUsername, "Teacher", "password", Teacher.Role.TEACHER);
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
 
-        when(teacherRepository.findByUsername(teacherUsername)).thenReturn(Optional.of(teacher));
         when(activityRepository.findByName(activityName)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
-                () -> useCase.signupForActivity(activityName, email, teacherUsername));
+                () -> useCase.signupForActivity(activityName, email, teacher));
 
-        verify(activityRepository, never()).save(any());
+        verify(activityRepository, never()).tryAddParticipant(any(), any());
     }
 
     @Test
@@ -104,20 +117,22 @@ class StudentRegistrationUseCaseTest {
         String email = "student@mergington.edu";
         String teacherUsername = "teacher1";
 
-        Teacher teacher = new Teacher(teacherUsername, "Teacher", "password", Teacher.Role.TEACHER);
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
         Activity activity = createTestActivity(activityName);
         activity.setCanTeachersRegisterStudents(true); // Allow teachers to register students
         activity.setParticipants(List.of(email));
 
-        when(teacherRepository.findByUsername(teacherUsername)).thenReturn(Optional.of(teacher));
         when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
-        when(activityRepository.save(any(Activity.class))).thenReturn(activity);
+        when(activityRepository.tryRemoveParticipant(activityName, null, new Email(email), null))
+                .thenReturn(ParticipantRemoval.of(RegistrationOutcome.REMOVED));
 
-        String result = useCase.unregisterFromActivity(activityName, email, teacherUsername);
+        RegistrationResultDTO result = useCase.unregisterFromActivity(activityName, email, teacher);
 
-        assertEquals("Desinscreveu student@mergington.edu de Clube de Xadrez", result);
-        verify(activityRepository).save(activity);
-        assertFalse(activity.getParticipants().contains(email));
+        assertEquals("Desinscreveu student@mergington.edu de Clube de Xadrez", result.message());
+        assertEquals(RegistrationResultDTO.Status.REMOVED, result.status());
+        assertNull(result.promotedEmail());
+        verify(activityRepository).tryRemoveParticipant(activityName, null, new Email(email), null);
+        verify(activityRepository, never()).save(any());
     }
 
     @Test
@@ -126,20 +141,19 @@ class StudentRegistrationUseCaseTest {
         String email = "student@mergington.edu";
         String teacherUsername = "unauthorizedTeacher";
 
-        Teacher teacher = new Teacher(teacherUsername, "Unauthorized Teacher", "password", Teacher.Role.TEACHER);
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Unauthorized Teacher", Teacher.Role.TEACHER);
         Activity activity = createTestActivity(activityName);
         activity.setCanTeachersRegisterStudents(false); // Don't allow teachers to register students
 
-        when(teacherRepository.findByUsername(teacherUsername)).thenReturn(Optional.of(teacher));
         when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
 
         AuthorizationException exception = assertThrows(AuthorizationException.class,
-                () -> useCase.signupForActivity(activityName, email, teacherUsername));
+                () -> useCase.signupForActivity(activityName, email, teacher));
 
         assertEquals(
                 "Professores não podem registrar estudantes nesta atividade. Apenas administradores podem fazer alterações.",
                 exception.getMessage());
-        verify(activityRepository, never()).save(any());
+        verify(activityRepository, never()).tryAddParticipant(any(), any());
     }
 
     @Test
@@ -148,18 +162,433 @@ class StudentRegistrationUseCaseTest {
         String email = "student@mergington.edu";
         String adminUsername = "admin";
 
-        Teacher admin = new Teacher(adminUsername, "Administrator", "password", Teacher.Role.ADMIN);
+        AuthenticatedTeacher admin = new AuthenticatedTeacher(adminUsername, "Administrator", Teacher.Role.ADMIN);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.ADDED);
+
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, admin);
+
+        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result.message());
+        verify(activityRepository).tryAddParticipant(activityName, new Email(email));
+    }
+
+    @Test
+    void shouldRejectSignupWhenActivityIsFull() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.FULL);
+        when(activityRepository.tryJoinWaitlist(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.WAITLIST_FULL);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> useCase.signupForActivity(activityName, email, teacher));
+
+        assertEquals("Atividade e lista de espera estão na capacidade máxima", exception.getMessage());
+    }
+
+    @Test
+    void shouldWaitlistStudentWhenActivityIsFull() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.FULL);
+        when(activityRepository.tryJoinWaitlist(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.WAITLISTED);
+
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, teacher);
+
+        assertEquals("Adicionou student@mergington.edu à lista de espera de Clube de Xadrez", result.message());
+        assertEquals(RegistrationResultDTO.Status.WAITLISTED, result.status());
+    }
+
+    @Test
+    void shouldRetrySignupWhenSpotOpensBeforeJoiningWaitlist() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
         Activity activity = createTestActivity(activityName);
 
-        when(teacherRepository.findByUsername(adminUsername)).thenReturn(Optional.of(admin));
         when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
-        when(activityRepository.save(any(Activity.class))).thenReturn(activity);
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.FULL, RegistrationOutcome.ADDED);
+        when(activityRepository.tryJoinWaitlist(activityName, new Email(email)))
+                .thenThrow(new ConflictException("conflict"));
+
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, teacher);
+
+        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result.message());
+    }
+
+    @Test
+    void shouldReturnWaitlistPosition() {
+        String activityName = "Clube de Xadrez";
+        String email = "Student@Mergington.edu";
+
+        when(activityRepository.findWaitlistPosition(activityName, new Email(email)))
+                .thenReturn(Optional.of(new WaitlistPosition(2, 5)));
+
+        WaitlistPositionDTO result = useCase.getWaitlistPosition(activityName, email);
+
+        assertEquals("student@mergington.edu", result.email());
+        assertEquals(2, result.position());
+        assertEquals(5, result.waitlistSize());
+        verify(activityRepository, never()).findByName(any());
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenStudentIsNotWaitlisted() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+
+        when(activityRepository.findWaitlistPosition(activityName, new Email(email)))
+                .thenReturn(Optional.of(new WaitlistPosition(0, 5)));
+
+        assertThrows(NotFoundException.class, () -> useCase.getWaitlistPosition(activityName, email));
+    }
+
+    @Test
+    void shouldRejectDuplicateSignup() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.DUPLICATE);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> useCase.signupForActivity(activityName, email, teacher));
+
+        assertEquals("Estudante já está inscrito nesta atividade", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectUnregisterWhenStudentIsNotRegistered() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryRemoveParticipant(activityName, null, new Email(email), null))
+                .thenReturn(ParticipantRemoval.of(RegistrationOutcome.NOT_REGISTERED));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.unregisterFromActivity(activityName, email, teacher));
+    }
+
+    @Test
+    void shouldRereadAndRetrySignupAfterConflict() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenThrow(new ConflictException("conflict"))
+                .thenReturn(RegistrationOutcome.ADDED);
+
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, teacher);
+
+        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result.message());
+        verify(activityRepository, times(2)).findByName(activityName);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxConflictingAttempts() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.tryRemoveParticipant(activityName, null, new Email(email), null))
+                .thenThrow(new ConflictException("conflict"));
+
+        assertThrows(ConflictException.class,
+                () -> useCase.unregisterFromActivity(activityName, email, teacher));
+
+        verify(activityRepository, times(3)).tryRemoveParticipant(activityName, null, new Email(email), null);
+    }
+
+    @Test
+    void shouldSignupBatchWithSingleWriteAndReportPerEmailResults() {
+        String activityName = "Clube de Xadrez";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = new Activity(activityName, "Test Description",
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(15, 30), LocalTime.of(17, 0)),
+                3, ActivityCategory.ACADEMIC);
+        activity.setParticipants(List.of("existing@mergington.edu"));
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+
+        BatchSignupResultDTO result = useCase.signupBatchForActivity(activityName,
+                List.of("a@mergington.edu", "existing@mergington.edu", "not-an-email",
+                        "b@mergington.edu", "c@mergington.edu"),
+                teacher);
+
+        assertEquals(2, result.addedCount());
+        assertEquals(List.of(
+                BatchSignupResultDTO.Status.ADDED,
+                BatchSignupResultDTO.Status.DUPLICATE,
+                BatchSignupResultDTO.Status.INVALID,
+                BatchSignupResultDTO.Status.ADDED,
+                BatchSignupResultDTO.Status.NO_CAPACITY),
+                result.results().stream().map(BatchSignupResultDTO.EmailResultDTO::status).toList());
+        verify(activityRepository, times(1)).save(activity);
+    }
+
+    @Test
+    void shouldReportScheduleConflictsInBatch() {
+        String activityName = "Clube de Xadrez";
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER);
+        Activity activity = new Activity(activityName, "Test Description",
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(15, 30), LocalTime.of(17, 0)),
+                10, ActivityCategory.ACADEMIC);
+        Email busy = new Email("busy@mergington.edu");
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.findByParticipant(busy)).thenReturn(List.of(new ActivitySummary("Clube de Artes",
+                "Descrição", ActivityCategory.ARTS,
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(16, 0), LocalTime.of(18, 0)), 10, 1)));
+
+        BatchSignupResultDTO result = useCase.signupBatchForActivity(activityName,
+                List.of("busy@mergington.edu", "free@mergington.edu"), teacher);
+
+        assertEquals(1, result.addedCount());
+        assertEquals(List.of(BatchSignupResultDTO.Status.SCHEDULE_CONFLICT, BatchSignupResultDTO.Status.ADDED),
+                result.results().stream().map(BatchSignupResultDTO.EmailResultDTO::status).toList());
+        assertEquals(Set.of("free@mergington.edu"), activity.getParticipants());
+    }
+
+    @Test
+    void shouldNotWriteWhenBatchAddsNobody() {
+        String activityName = "Clube de Xadrez";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+        activity.setParticipants(List.of("existing@mergington.edu"));
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+
+        BatchSignupResultDTO result = useCase.signupBatchForActivity(activityName,
+                List.of("existing@mergington.edu", "invalid"), teacher);
+
+        assertEquals(0, result.addedCount());
+        verify(activityRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReapplyBatchOnFreshActivityAfterConflict() {
+        String activityName = "Clube de Xadrez";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity stale = createTestActivity(activityName);
+        Activity fresh = createTestActivity(activityName);
+        fresh.setParticipants(List.of("a@mergington.edu"));
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(activityRepository.save(stale)).thenThrow(new ConflictException("conflict"));
+
+        BatchSignupResultDTO result = useCase.signupBatchForActivity(activityName,
+                List.of("a@mergington.edu", "b@mergington.edu"), teacher);
+
+        assertEquals(1, result.addedCount());
+        assertEquals(BatchSignupResultDTO.Status.DUPLICATE, result.results().get(0).status());
+        verify(activityRepository).save(fresh);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThrows(ValidationException.class,
+                () -> useCase.signupBatchForActivity("Clube de Xadrez", List.of(),
+                        new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER)));
+
+        verify(activityRepository, never()).findByName(any());
+    }
+
+    @Test
+    void shouldRejectBatchForbiddenToTeachers() {
+        String activityName = "Time de Futebol";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+        activity.setCanTeachersRegisterStudents(false);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+
+        assertThrows(AuthorizationException.class, () -> useCase.signupBatchForActivity(activityName,
+                List.of("a@mergington.edu"), teacher));
+
+        verify(activityRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCoalesceQueuedSignupsIntoSingleSave() throws Exception {
+        String activityName = "Clube de Xadrez";
+        String teacherUsername = "teacher1";
+
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(teacherUsername, "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+        CountDownLatch firstReadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRead = new CountDownLatch(1);
+
+        when(activityRepository.findByName(activityName)).thenAnswer(invocation -> {
+            if (firstReadStarted.getCount() > 0) {
+                firstReadStarted.countDown();
+                releaseFirstRead.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(activity);
+        });
+        when(activityRepository.tryAddParticipant(activityName, new Email("a@mergington.edu")))
+                .thenReturn(RegistrationOutcome.ADDED);
+
+        CompletableFuture<RegistrationResultDTO> first = CompletableFuture.supplyAsync(
+                () -> useCase.signupForActivity(activityName, "a@mergington.edu", teacher));
+        assertTrue(firstReadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<RegistrationResultDTO> second = CompletableFuture.supplyAsync(
+                () -> useCase.signupForActivity(activityName, "b@mergington.edu", teacher));
+        CompletableFuture<RegistrationResultDTO> third = CompletableFuture.supplyAsync(
+                () -> useCase.signupForActivity(activityName, "c@mergington.edu", teacher));
+        while (meterRegistry.summary("activity.write.queue.depth").count() < 3) {
+            Thread.sleep(5);
+        }
+        releaseFirstRead.countDown();
+
+        assertEquals("Inscreveu a@mergington.edu em Clube de Xadrez", first.get(5, TimeUnit.SECONDS).message());
+        assertEquals("Inscreveu b@mergington.edu em Clube de Xadrez", second.get(5, TimeUnit.SECONDS).message());
+        assertEquals("Inscreveu c@mergington.edu em Clube de Xadrez", third.get(5, TimeUnit.SECONDS).message());
+        verify(activityRepository, times(1)).save(activity);
+        assertTrue(activity.isParticipantRegistered(new Email("b@mergington.edu")));
+        assertTrue(activity.isParticipantRegistered(new Email("c@mergington.edu")));
+    }
+
+    @Test
+    void shouldRejectSignupOverlappingExistingEnrollment() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.TEACHER);
+        Activity activity = createTestActivity(activityName);
+        activity.setCanTeachersRegisterStudents(true);
+        ActivitySummary enrolled = new ActivitySummary("Clube de Artes", "Arte", ActivityCategory.ARTS,
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(16, 0), LocalTime.of(18, 0)), 10, 1);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.findByParticipant(new Email(email))).thenReturn(List.of(enrolled));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> useCase.signupForActivity(activityName, email, teacher));
+
+        assertEquals("Estudante já está inscrito em outra atividade no mesmo horário", exception.getMessage());
+        verify(activityRepository, never()).tryAddParticipant(any(), any());
+    }
+
+    @Test
+    void shouldOnlyWarnOnOverlapWhenRejectionDisabled() {
+        useCase = new StudentRegistrationUseCase(activityRepository,
+                new OptimisticRetryPolicy(3, 0, 0, meterRegistry), writeSerializer,
+                new StudentScheduleIndex(activityRepository, 100), false);
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.ADMIN);
+        Activity activity = createTestActivity(activityName);
+        ActivitySummary enrolled = new ActivitySummary("Clube de Artes", "Arte", ActivityCategory.ARTS,
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(16, 0), LocalTime.of(18, 0)), 10, 1);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.findByParticipant(new Email(email))).thenReturn(List.of(enrolled));
+        when(activityRepository.tryAddParticipant(activityName, new Email(email)))
+                .thenReturn(RegistrationOutcome.ADDED);
+
+        RegistrationResultDTO result = useCase.signupForActivity(activityName, email, teacher);
+
+        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result.message());
+    }
+
+    @Test
+    void shouldKeepScheduleIndexCurrentAcrossSignupAndUnregister() {
+        String email = "student@mergington.edu";
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.ADMIN);
+        Activity chess = createTestActivity("Clube de Xadrez");
+        Activity art = new Activity("Clube de Artes", "Arte",
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(16, 0), LocalTime.of(18, 0)), 10,
+                ActivityCategory.ARTS);
+
+        when(activityRepository.findByName("Clube de Xadrez")).thenReturn(Optional.of(chess));
+        when(activityRepository.findByName("Clube de Artes")).thenReturn(Optional.of(art));
+        when(activityRepository.findByParticipant(new Email(email))).thenReturn(List.of());
+        when(activityRepository.tryAddParticipant(any(), any())).thenReturn(RegistrationOutcome.ADDED);
+        when(activityRepository.tryRemoveParticipant("Clube de Xadrez", null, new Email(email), null))
+                .thenReturn(ParticipantRemoval.of(RegistrationOutcome.REMOVED));
+
+        useCase.signupForActivity("Clube de Xadrez", email, teacher);
+        assertThrows(IllegalStateException.class,
+                () -> useCase.signupForActivity("Clube de Artes", email, teacher));
+
+        useCase.unregisterFromActivity("Clube de Xadrez", email, teacher);
+        useCase.signupForActivity("Clube de Artes", email, teacher);
+
+        verify(activityRepository, times(1)).findByParticipant(new Email(email));
+        verify(activityRepository).tryAddParticipant("Clube de Artes", new Email(email));
+    }
+
+    @Test
+    void shouldPromoteFirstWaitlistedStudentWithoutScheduleConflict() {
+        String activityName = "Clube de Xadrez";
+        String email = "student@mergington.edu";
+        Email busy = new Email("busy@mergington.edu");
+        Email free = new Email("free@mergington.edu");
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher("teacher1", "Teacher", Teacher.Role.ADMIN);
+        Activity activity = createTestActivity(activityName);
+        activity.setMaxParticipants(1);
+        activity.setParticipants(List.of(email));
+        activity.setWaitlist(List.of(busy.value(), free.value()));
+        ActivitySummary enrolled = new ActivitySummary("Clube de Artes", "Arte", ActivityCategory.ARTS,
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(16, 0), LocalTime.of(18, 0)), 10, 1);
+
+        when(activityRepository.findByName(activityName)).thenReturn(Optional.of(activity));
+        when(activityRepository.findByParticipant(busy)).thenReturn(List.of(enrolled));
+        when(activityRepository.findByParticipant(free)).thenReturn(List.of());
+        when(activityRepository.tryRemoveParticipant(activityName, null, new Email(email), free))
+                .thenReturn(new ParticipantRemoval(RegistrationOutcome.REMOVED, free));
 
-        String result = useCase.signupForActivity(activityName, email, adminUsername);
+        RegistrationResultDTO result = useCase.unregisterFromActivity(activityName, email, teacher);
 
-        assertEquals("Inscreveu student@mergington.edu em Clube de Xadrez", result);
-        verify(activityRepository).save(activity);
-        assertTrue(activity.getParticipants().contains(email));
+        verify(activityRepository).tryRemoveParticipant(activityName, null, new Email(email), free);
+        assertEquals(free.value(), result.promotedEmail());
     }
 
     private Activity createTestActivity(String name) {
@@ -121,6 +121,82 @@ class ActivityTest {
         assertEquals(16, activity.getCapacityUtilizationPercentage());
     }
 
+    @Test
+    void shouldJoinWaitlistOnlyWhenActivityIsFull() {
+        Activity activity = createSmallActivity(1);
+        Email student1 = new Email("student1@mergington.edu");
+        Email student2 = new Email("student2@mergington.edu");
+
+        assertThrows(IllegalStateException.class, () -> activity.joinWaitlist(student2));
+
+        activity.addParticipant(student1);
+        activity.joinWaitlist(student2);
+
+        assertTrue(activity.isOnWaitlist(student2));
+        assertEquals(1, activity.getWaitlistPosition(student2));
+        assertEquals(0, activity.getWaitlistPosition(student1));
+        assertThrows(IllegalArgumentException.class, () -> activity.joinWaitlist(student2));
+        assertThrows(IllegalArgumentException.class, () -> activity.joinWaitlist(student1));
+    }
+
+    @Test
+    void shouldRejectWaitlistWhenWaitlistIsFull() {
+        Activity activity = createSmallActivity(1);
+        activity.setWaitlistCapacity(1);
+        activity.addParticipant(new Email("student1@mergington.edu"));
+        activity.joinWaitlist(new Email("student2@mergington.edu"));
+
+        assertThrows(IllegalStateException.class,
+                () -> activity.joinWaitlist(new Email("student3@mergington.edu")));
+    }
+
+    @Test
+    void shouldPromoteWaitlistHeadWhenParticipantIsRemoved() {
+        Activity activity = createSmallActivity(1);
+        Email student1 = new Email("student1@mergington.edu");
+        Email student2 = new Email("student2@mergington.edu");
+        Email student3 = new Email("student3@mergington.edu");
+        activity.addParticipant(student1);
+        activity.joinWaitlist(student2);
+        activity.joinWaitlist(student3);
+
+        activity.removeParticipant(student1);
+
+        assertTrue(activity.isParticipantRegistered(student2));
+        assertFalse(activity.isOnWaitlist(student2));
+        assertEquals(1, activity.getWaitlistPosition(student3));
+        assertEquals(1, activity.getCurrentParticipantCount());
+    }
+
+    @Test
+    void shouldRejectNegativeWaitlistCapacity() {
+        Activity activity = createTestActivity();
+
+        assertThrows(IllegalArgumentException.class, () -> activity.setWaitlistCapacity(-1));
+    }
+
+    @Test
+    void shouldKeepParticipantInsertionOrderBehindReadOnlyView() {
+        Activity activity = createTestActivity();
+        activity.setParticipants(List.of("c@mergington.edu", "a@mergington.edu", "b@mergington.edu"));
+        activity.addParticipant(new Email("d@mergington.edu"));
+        activity.removeParticipant(new Email("a@mergington.edu"));
+
+        assertEquals(List.of("c@mergington.edu", "b@mergington.edu", "d@mergington.edu"),
+                List.copyOf(activity.getParticipants()));
+        assertThrows(UnsupportedOperationException.class,
+                () -> activity.getParticipants().add("e@mergington.edu"));
+    }
+
+    private Activity createSmallActivity(int maxParticipants) {
+        return new Activity(
+                "Small Activity",
+                "Test Description",
+                new ScheduleDetails(List.of("Monday"), LocalTime.of(15, 30), LocalTime.of(17, 0)),
+                maxParticipants,
+                ActivityCategory.ACADEMIC);
+    }
+
     private Activity createTestActivity() {
         ScheduleDetails schedule = new ScheduleDetails(
                 List.of("Monday"),
@@ -0,0 +1,163 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Activity;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivitySortKey;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageCursor;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ActivityPageQuery;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.ScheduleDetails;
+import com.mergingtonhigh.schoolmanagement.infrastructure.migrations.V006_ActivityScheduleIndexes;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Runs the activity filter and page queries against a real MongoDB and checks their
+ * query plans, so a query shape that drifts away from the V006 indexes fails here
+ * instead of turning into a collection scan in production.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ActivityQueryPlanTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static ActivityRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "query_plans");
+        MongoActivityRepository mongoRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(MongoActivityRepository.class);
+        repository = new ActivityRepositoryImpl(mongoRepository, mongoTemplate, event -> {
+        });
+
+        new V006_ActivityScheduleIndexes(mongoTemplate).changeSet();
+        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+        ActivityCategory[] categories = ActivityCategory.values();
+        for (int i = 0; i < 200; i++) {
+            mongoTemplate.insert(new Activity("Atividade " + i, "Descrição",
+                    new ScheduleDetails(List.of(days[i % days.length]), LocalTime.of(8 + i % 10, 0),
+                            LocalTime.of(9 + i % 10, 0)),
+                    20, categories[i % categories.length]));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @Test
+    void shouldUseIndexForDayTimeAndCategoryFilter() {
+        assertIndexed(page("Monday", LocalTime.of(9, 0), LocalTime.of(17, 0), "ACADEMIC",
+                ActivitySortKey.NAME, null));
+    }
+
+    @Test
+    void shouldUseIndexForDayAndTimeFilter() {
+        assertIndexed(page("Monday", LocalTime.of(9, 0), LocalTime.of(17, 0), null, ActivitySortKey.NAME, null));
+    }
+
+    @Test
+    void shouldUseIndexForDayOnly() {
+        assertIndexed(page("Tuesday", null, null, null, ActivitySortKey.NAME, null));
+    }
+
+    @Test
+    void shouldUseIndexForTimeRangeOnly() {
+        assertIndexed(page(null, LocalTime.of(9, 0), LocalTime.of(12, 0), null, ActivitySortKey.START_TIME, null));
+    }
+
+    @Test
+    void shouldUseIndexForCategoryOrderedPageAfterCursor() {
+        assertIndexed(page(null, null, null, null, ActivitySortKey.CATEGORY,
+                new ActivityPageCursor(ActivitySortKey.CATEGORY, "ARTS", "Atividade 10")));
+    }
+
+    @Test
+    void shouldUseIndexForStartTimeOrderedPageAfterCursor() {
+        assertIndexed(page(null, null, null, null, ActivitySortKey.START_TIME,
+                new ActivityPageCursor(ActivitySortKey.START_TIME, "10:00", "Atividade 12")));
+    }
+
+    @Test
+    void shouldUseIdIndexForNameOrderedPage() {
+        assertIndexed(page(null, null, null, null, ActivitySortKey.NAME,
+                new ActivityPageCursor(ActivitySortKey.NAME, null, "Atividade 50")));
+    }
+
+    @Test
+    void shouldReturnPagesThatMatchTheFilter() {
+        ActivityPageQuery query = page("Monday", LocalTime.of(9, 0), LocalTime.of(17, 0), "ACADEMIC",
+                ActivitySortKey.START_TIME, null);
+
+        List<Activity> activities = repository.findPage(query);
+
+        assertFalse(activities.isEmpty());
+        activities.forEach(activity -> {
+            assertTrue(activity.getScheduleDetails().days().contains("Monday"));
+            assertEquals(ActivityCategory.ACADEMIC, activity.getCategory());
+        });
+    }
+
+    private ActivityPageQuery page(String day, LocalTime start, LocalTime end, String category,
+            ActivitySortKey sortKey, ActivityPageCursor after) {
+        return new ActivityPageQuery(day, start, end, category, sortKey, after, 20);
+    }
+
+    private void assertIndexed(ActivityPageQuery page) {
+        Query query = repository.pageQuery(page);
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Activity.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        Document find = new Document("find", mongoTemplate.getCollectionName(Activity.class))
+                .append("filter", queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .append("sort", queryMapper.getMappedSort(query.getSortObject(), entity))
+                .append("limit", query.getLimit());
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", find).append("verbosity", "queryPlanner"));
+
+        List<String> stages = new ArrayList<>();
+        collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+        assertFalse(stages.contains("COLLSCAN"), () -> "Collection scan in plan: " + stages);
+        assertTrue(stages.contains("IXSCAN") || stages.contains("IDHACK"), () -> "No index scan in plan: " + stages);
+    }
+
+    private void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.repositories.TeacherRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTeacherRepositoryTest {
+
+    @Mock
+    private TeacherRepository delegate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-15T10:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private CachingTeacherRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingTeacherRepository(delegate, meterRegistry, 2, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCacheUntilExpiry() {
+        when(delegate.findByUsername("teacher1")).thenReturn(Optional.of(teacher("teacher1")));
+
+        repository.findByUsername("teacher1");
+        assertEquals("Teacher teacher1", repository.findByUsername("teacher1").orElseThrow().getDisplayName());
+        assertTrue(repository.existsByUsername("teacher1"));
+        verify(delegate, times(1)).findByUsername("teacher1");
+
+        clock.advance(Duration.ofMinutes(5));
+        repository.findByUsername("teacher1");
+
+        verify(delegate, times(2)).findByUsername("teacher1");
+        assertEquals(2.0, gets("hit"));
+        assertEquals(2.0, gets("miss"));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").tag("cache", "teachers").functionCounter().count());
+    }
+
+    @Test
+    void shouldRememberUnknownUsernamesForNegativeTtl() {
+        when(delegate.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertFalse(repository.findByUsername("ghost").isPresent());
+        assertFalse(repository.existsByUsername("ghost"));
+        verify(delegate, times(1)).findByUsername("ghost");
+
+        clock.advance(Duration.ofSeconds(30));
+        repository.findByUsername("ghost");
+
+        verify(delegate, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void shouldInvalidateOnSaveAndDelete() {
+        Teacher original = teacher("teacher1");
+        Teacher renamed = new Teacher("teacher1", "Renamed", "hash", Teacher.Role.ADMIN);
+        when(delegate.findByUsername("teacher1")).thenReturn(Optional.of(original), Optional.of(renamed),
+                Optional.empty());
+        when(delegate.save(renamed)).thenReturn(renamed);
+
+        repository.findByUsername("teacher1");
+        repository.save(renamed);
+        assertEquals("Renamed", repository.findByUsername("teacher1").orElseThrow().getDisplayName());
+
+        repository.deleteByUsername("teacher1");
+        assertFalse(repository.findByUsername("teacher1").isPresent());
+        verify(delegate).deleteByUsername("teacher1");
+    }
+
+    @Test
+    void shouldInvalidateOnPasswordReplacement() {
+        Teacher upgraded = new Teacher("teacher1", "Teacher teacher1", "new_hash", Teacher.Role.TEACHER);
+        when(delegate.findByUsername("teacher1")).thenReturn(Optional.of(teacher("teacher1")),
+                Optional.of(upgraded));
+        when(delegate.replacePassword("teacher1", "hash", "new_hash")).thenReturn(true);
+
+        repository.findByUsername("teacher1");
+        assertTrue(repository.replacePassword("teacher1", "hash", "new_hash"));
+
+        assertEquals("new_hash", repository.findByUsername("teacher1").orElseThrow().getPassword());
+        verify(delegate, times(2)).findByUsername("teacher1");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        when(delegate.findByUsername("a")).thenReturn(Optional.of(teacher("a")));
+        when(delegate.findByUsername("b")).thenReturn(Optional.of(teacher("b")));
+        when(delegate.findByUsername("c")).thenReturn(Optional.of(teacher("c")));
+
+        repository.findByUsername("a");
+        repository.findByUsername("b");
+        repository.findByUsername("a");
+        repository.findByUsername("c");
+        repository.findByUsername("a");
+        repository.findByUsername("b");
+
+        assertEquals(2, repository.size());
+        verify(delegate, times(1)).findByUsername("a");
+        verify(delegate, times(2)).findByUsername("b");
+    }
+
+    @Test
+    void shouldHandOutCopiesSoCallerMutationsDoNotLeakIntoCache() {
+        when(delegate.findByUsername("teacher1")).thenReturn(Optional.of(teacher("teacher1")));
+
+        Teacher first = repository.findByUsername("teacher1").orElseThrow();
+        first.setDisplayName("Changed but not saved");
+        Teacher second = repository.findByUsername("teacher1").orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals("Teacher teacher1", second.getDisplayName());
+    }
+
+    @Test
+    void shouldPopulateCacheFromFindAll() {
+        when(delegate.findAll()).thenReturn(List.of(teacher("a"), teacher("b")));
+
+        repository.findAll();
+        repository.findByUsername("a");
+        repository.findByUsername("b");
+
+        verify(delegate, never()).findByUsername("a");
+        verify(delegate, never()).findByUsername("b");
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "teachers", "result", result).functionCounter().count();
+    }
+
+    private Teacher teacher(String username) {
+        return new Teacher(username, "Teacher " + username, "hash", Teacher.Role.TEACHER);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.Argon2Calibrator.Parameters;
+
+class Argon2CalibratorTest {
+
+    @Test
+    void shouldRaiseMemoryThenIterationsUpToTarget() {
+        Argon2Calibrator calibrator = calibrator(Duration.ofMillis(100), 1_000);
+
+        assertEquals(new Parameters(38_912, 2), calibrator.calibrate());
+    }
+
+    @Test
+    void shouldStopAtConfiguredMaximumsOnFastHardware() {
+        Argon2Calibrator calibrator = calibrator(Duration.ofMillis(100), 10);
+
+        assertEquals(new Parameters(77_824, 10), calibrator.calibrate());
+    }
+
+    @Test
+    void shouldKeepFloorOnSlowHardware() {
+        Argon2Calibrator calibrator = calibrator(Duration.ofMillis(100), 5_000);
+
+        assertEquals(calibrator.floor(), calibrator.calibrate());
+    }
+
+    @Test
+    void shouldOnlyUpgradeHashesWeakerThanCurrentParameters() {
+        Argon2PasswordEncoder weak = new Parameters(64, 1).encoder();
+        Argon2PasswordEncoder strong = new Parameters(128, 2).encoder();
+        String weakHash = weak.encode("senha");
+        String strongHash = strong.encode("senha");
+
+        assertTrue(strong.matches("senha", weakHash));
+        assertTrue(strong.upgradeEncoding(weakHash));
+        assertFalse(strong.upgradeEncoding(strongHash));
+        assertFalse(weak.upgradeEncoding(strongHash));
+    }
+
+    // Verification time modelled as proportional to memory times iterations
+    private Argon2Calibrator calibrator(Duration target, long nanosPerKibIteration) {
+        return new Argon2Calibrator(target, 19_456, 131_072, 2, 10,
+                parameters -> nanosPerKibIteration * parameters.memoryKib() * parameters.iterations());
+    }
+}
@@ -0,0 +1,150 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.domain.entities.Teacher;
+import com.mergingtonhigh.schoolmanagement.domain.valueobjects.AuthenticatedTeacher;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.RateLimitProperties.Limit;
+import com.mergingtonhigh.schoolmanagement.infrastructure.security.RateLimitProperties.RouteLimits;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, 100, Duration.ofMinutes(10), Map.of(
+                "login", new RouteLimits(new Limit(3, Duration.ofSeconds(10)), new Limit(1, Duration.ofSeconds(10))),
+                "registration", new RouteLimits(null, new Limit(1, Duration.ofSeconds(10)))));
+        filter = new RateLimitFilter(properties, meterRegistry, objectMapper, () -> 0L);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldThrottleLoginPerUsernameWithProblemDetail() throws Exception {
+        assertEquals(200, login("teacher1", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse throttled = login("TEACHER1", "10.0.0.2");
+
+        assertEquals(429, throttled.getStatus());
+        assertEquals("10", throttled.getHeader(HttpHeaders.RETRY_AFTER));
+        JsonNode body = objectMapper.readTree(throttled.getContentAsString());
+        assertEquals(429, body.get("status").asInt());
+        assertEquals("Muitas requisições. Tente novamente em instantes.", body.get("detail").asText());
+        assertEquals(1.0, meterRegistry.get("ratelimit.rejected").tags("route", "login", "key", "user")
+                .counter().count());
+    }
+
+    @Test
+    void shouldThrottleLoginPerIpAcrossUsernames() throws Exception {
+        for (String username : List.of("a", "b", "c")) {
+            assertEquals(200, login(username, "10.0.0.1").getStatus());
+        }
+
+        assertEquals(429, login("d", "10.0.0.1").getStatus());
+        assertEquals(200, login("d", "10.0.0.2").getStatus());
+        assertEquals(1.0, meterRegistry.get("ratelimit.rejected").tags("route", "login", "key", "ip")
+                .counter().count());
+    }
+
+    @Test
+    void shouldNotTrackMadeUpUsernamesOnceIpIsThrottled() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            login("random" + i, "10.0.0.1");
+        }
+
+        assertEquals(3.0, meterRegistry.get("ratelimit.keys").tags("route", "login", "key", "user")
+                .gauge().value());
+        assertEquals(200, login("teacher1", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void shouldKeyRegistrationsByAuthenticatedTeacher() throws Exception {
+        authenticate("teacher1");
+        assertEquals(200, post("/activities/Chess%20Club/signup", "10.0.0.1").getStatus());
+        assertEquals(429, post("/activities/Chess%20Club/unregister", "10.0.0.1").getStatus());
+
+        authenticate("teacher2");
+        assertEquals(200, post("/activities/Chess%20Club/signup/batch", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void shouldPassThroughOtherRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/activities");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        // Anonymous registrations are left to the controller, which answers 401
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/activities/Chess%20Club/signup"),
+                new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void shouldNotThrottleWhenDisabled() throws Exception {
+        filter = new RateLimitFilter(new RateLimitProperties(false, 100, Duration.ofMinutes(10),
+                Map.of("login", new RouteLimits(null, new Limit(1, Duration.ofSeconds(10))))),
+                meterRegistry, objectMapper, () -> 0L);
+
+        assertEquals(200, login("teacher1", "10.0.0.1").getStatus());
+        assertEquals(200, login("teacher1", "10.0.0.1").getStatus());
+    }
+
+    private MockHttpServletResponse login(String username, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr(remoteAddress);
+        request.setParameter("username", username);
+        return filter(request);
+    }
+
+    private MockHttpServletResponse post(String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddress);
+        return filter(request);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == 429) {
+            assertNull(chain.getRequest());
+        }
+        return response;
+    }
+
+    private void authenticate(String username) {
+        AuthenticatedTeacher teacher = new AuthenticatedTeacher(username, null, Teacher.Role.TEACHER);
+        SecurityContextHolder.getContext()
+                .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(teacher, null, List.of()));
+    }
+}
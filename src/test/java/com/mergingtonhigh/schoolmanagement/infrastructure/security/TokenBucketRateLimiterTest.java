@@ -0,0 +1,124 @@
+package com.mergingtonhigh.schoolmanagement.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(Long.MAX_VALUE - Duration.ofMinutes(1).toNanos());
+
+    @Test
+    void shouldAllowBurstThenReportWaitUntilNextToken() {
+        TokenBucketRateLimiter limiter = limiter(3, 10);
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        assertEquals(Duration.ofSeconds(1), limiter.tryAcquire("a"));
+
+        advance(Duration.ofMillis(400));
+        assertEquals(Duration.ofMillis(600), limiter.tryAcquire("a"));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void shouldRefillOneTokenPerIntervalAcrossClockWrap() {
+        TokenBucketRateLimiter limiter = limiter(2, 10);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        // The fake clock starts a minute before nanoTime wraps around
+        advance(Duration.ofMinutes(1));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        advance(Duration.ofSeconds(1));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("a"));
+        assertEquals(Duration.ofSeconds(1), limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void shouldReplaceBucketFullSoonestWhenAtMaxKeys() {
+        TokenBucketRateLimiter limiter = limiter(1, 2);
+        limiter.tryAcquire("a");
+        advance(Duration.ofMillis(500));
+        limiter.tryAcquire("b");
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("c"));
+        assertEquals(Duration.ofSeconds(1), limiter.tryAcquire("c"));
+        assertEquals(Duration.ofSeconds(1), limiter.tryAcquire("b"));
+        assertEquals(2, limiter.size());
+        assertEquals(1, limiter.forcedEvictions());
+
+        advance(Duration.ofMinutes(10));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("d"));
+        assertEquals(1, limiter.size());
+        assertEquals(1, limiter.forcedEvictions());
+    }
+
+    @Test
+    void shouldKeepThrottlingHammeredKeyWhileMadeUpKeysFillTheLimiter() {
+        TokenBucketRateLimiter limiter = limiter(3, 2);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("victim");
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire("fake-" + i));
+        }
+
+        assertEquals(Duration.ofSeconds(1), limiter.tryAcquire("victim"));
+        assertEquals(19, limiter.forcedEvictions());
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanCapacityUnderContention() throws InterruptedException {
+        TokenBucketRateLimiter limiter = limiter(50, 10);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("a").isZero()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(50, granted.get());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(0, Duration.ofSeconds(1), 10, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(1, Duration.ZERO, 10, Duration.ofMinutes(1)));
+    }
+
+    private TokenBucketRateLimiter limiter(int capacity, int maxKeys) {
+        return new TokenBucketRateLimiter(capacity, Duration.ofSeconds(1), maxKeys, Duration.ofMinutes(5),
+                nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,112 @@
+package com.mergingtonhigh.schoolmanagement.presentation.controllers;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mergingtonhigh.schoolmanagement.application.dtos.ActivityDTO;
+import com.mergingtonhigh.schoolmanagement.application.idempotency.IdempotencyStore;
+import com.mergingtonhigh.schoolmanagement.application.streaming.SeatCountHub;
+import com.mergingtonhigh.schoolmanagement.application.usecases.ActivityUseCase;
+import com.mergingtonhigh.schoolmanagement.application.usecases.StudentRegistrationUseCase;
+import com.mergingtonhigh.schoolmanagement.domain.enums.ActivityCategory;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ActivityUseCase activityUseCase;
+
+    @Mock
+    private StudentRegistrationUseCase studentRegistrationUseCase;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private SeatCountHub seatCountHub;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ActivityController controller = new ActivityController(activityUseCase, studentRegistrationUseCase,
+                idempotencyStore, seatCountHub, Duration.ofMinutes(30), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void shouldStreamSameJsonAsSerializedMap() throws Exception {
+        ActivityDTO chess = activity("Chess Club", List.of("a@mergington.edu", "b@mergington.edu"));
+        ActivityDTO art = activity("Art Club", List.of());
+        Map<String, ActivityDTO> expected = new LinkedHashMap<>();
+        expected.put(art.name(), art);
+        expected.put(chess.name(), chess);
+        when(activityUseCase.getCatalogVersionTag()).thenReturn("abc-1");
+        when(activityUseCase.streamActivities("Monday", null, null, null, null)).thenReturn(Stream.of(art, chess));
+
+        MvcResult started = mockMvc.perform(get("/activities").param("day", "Monday"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-1\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+    }
+
+    @Test
+    void shouldStreamEmptyObjectWhenNothingMatches() throws Exception {
+        when(activityUseCase.getCatalogVersionTag()).thenReturn("abc-1");
+        when(activityUseCase.streamActivities(null, null, null, null, null)).thenReturn(Stream.empty());
+
+        MvcResult started = mockMvc.perform(get("/activities")).andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{}"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutReadingCatalog() throws Exception {
+        when(activityUseCase.getCatalogVersionTag()).thenReturn("abc-1");
+
+        mockMvc.perform(get("/activities").header(HttpHeaders.IF_NONE_MATCH, "\"abc-1\""))
+                .andExpect(status().isNotModified());
+
+        verify(activityUseCase, never()).streamActivities(null, null, null, null, null);
+    }
+
+    private ActivityDTO activity(String name, List<String> participants) {
+        return new ActivityDTO(name, "Descrição", "Segundas, 15:30 - 17:00",
+                new ActivityDTO.ScheduleDetailsDTO(List.of("Monday"), "15:30", "17:00"), 12, participants,
+                participants.size(), 0, ActivityCategory.ACADEMIC, true);
+    }
+}